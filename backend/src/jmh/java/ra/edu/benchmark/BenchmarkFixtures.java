@@ -0,0 +1,99 @@
+package ra.edu.benchmark;
+
+import ra.edu.dto.response.RoomResponse;
+import ra.edu.entity.Hotel;
+import ra.edu.entity.Review;
+import ra.edu.entity.Room;
+import ra.edu.entity.RoomImage;
+import ra.edu.entity.RoomRatingSummary;
+import ra.edu.entity.User;
+import ra.edu.mapper.RoomMapper;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Dữ liệu giả dùng chung cho các benchmark
+public class BenchmarkFixtures {
+    public static Hotel hotel(int hotelId) {
+        return Hotel.builder()
+                .hotelId(hotelId)
+                .hotelName("Khách sạn Mường Thanh " + hotelId)
+                .address("60 Trần Phú, Hải Châu")
+                .city("Đà Nẵng")
+                .country("Việt Nam")
+                .description("Khách sạn ven biển")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static Room room(int roomId, Hotel hotel) {
+        Room room = Room.builder()
+                .roomId(roomId)
+                .hotel(hotel)
+                .roomType("Deluxe Ocean View " + roomId)
+                .price(1_250_000.0 + roomId)
+                .capacity(2 + roomId % 3)
+                .description("Phòng hướng biển, giường đôi, ban công riêng")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        List<RoomImage> images = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            images.add(RoomImage.builder()
+                    .imageId(roomId * 10 + i)
+                    .room(room)
+                    .imageUrl("https://res.cloudinary.com/demo/image/upload/v1/rooms/" + roomId + "_" + i + ".jpg")
+                    .build());
+        }
+        room.setImages(images);
+        return room;
+    }
+
+    public static RoomRatingSummary summary(int roomId) {
+        return new RoomRatingSummary(roomId, 42L, 10, LocalDateTime.now());
+    }
+
+    public static User user(int userId) {
+        return User.builder()
+                .userId(userId)
+                .fullName("Nguyễn Văn A")
+                .email("user" + userId + "@example.com")
+                .phone("0912345678")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .status(true)
+                .build();
+    }
+
+    public static Review review(int reviewId, Room room, User user) {
+        return Review.builder()
+                .reviewId(reviewId)
+                .room(room)
+                .user(user)
+                .rating(4)
+                .comment("Phòng sạch sẽ, nhân viên thân thiện")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static List<RoomResponse> roomResponses(int count) {
+        List<RoomResponse> responses = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            responses.add(RoomMapper.toResponse(room(i, hotel(i % 50)), summary(i)));
+        }
+        return responses;
+    }
+
+    // Gán giá trị cho field @Value khi chạy ngoài Spring
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ra.edu.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import ra.edu.BackendApplication;
+import ra.edu.dto.response.CatalogImportResponse;
+import ra.edu.service.CatalogImportService;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Sinh file NDJSON tổng hợp (mặc định ~1 triệu dòng) rồi import vào schema riêng trên MySQL local, in số dòng/giây.
+// Chạy: ./gradlew catalogImport -PimportRows=1000000
+public class CatalogImportRunner {
+    private static final int ROOMS_PER_HOTEL = 30;
+    private static final int IMAGES_PER_ROOM = 2;
+    private static final int IMAGES_PER_HOTEL = 10;
+    // 1 khách sạn + ảnh khách sạn + phòng + ảnh phòng
+    private static final int ROWS_PER_HOTEL = 1 + IMAGES_PER_HOTEL + ROOMS_PER_HOTEL * (1 + IMAGES_PER_ROOM);
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/reports/import/catalog-import.json");
+        long rows = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        Path input = output.toAbsolutePath().getParent().resolve("catalog-import.ndjson");
+
+        Files.createDirectories(input.getParent());
+        int hotels = (int) Math.max(1, rows / ROWS_PER_HOTEL);
+        generate(input, hotels);
+        System.out.printf(Locale.ROOT, "Đã sinh %s: %d khách sạn, %d dòng, %.1f MB%n",
+                input, hotels, (long) hotels * ROWS_PER_HOTEL, Files.size(input) / 1_048_576.0);
+
+        ConfigurableApplicationContext context = SpringApplication.run(BackendApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:mysql://localhost:3306/project_react_native_import_test"
+                        + "?createDatabaseIfNotExist=true&useCursorFetch=true&rewriteBatchedStatements=true",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false");
+        try (InputStream in = Files.newInputStream(input)) {
+            CatalogImportResponse result = context.getBean(CatalogImportService.class).importCatalog(null, in);
+            String line = String.format(Locale.ROOT,
+                    "{\"hotels\": %d, \"rooms\": %d, \"hotelImages\": %d, \"roomImages\": %d, \"totalRows\": %d, "
+                            + "\"chunks\": %d, \"elapsedMs\": %d, \"rowsPerSecond\": %.1f}",
+                    result.getHotels(), result.getRooms(), result.getHotelImages(), result.getRoomImages(),
+                    result.getTotalRows(), result.getChunks(), result.getElapsedMs(), result.getRowsPerSecond());
+            System.out.println(line);
+            Files.writeString(output, line + "\n");
+            System.out.println("Kết quả: " + output.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void generate(Path file, int hotels) throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int h = 0; h < hotels; h++) {
+                StringBuilder line = new StringBuilder(4096);
+                line.append("{\"hotelName\":\"Hotel ").append(h)
+                        .append("\",\"address\":\"").append(h).append(" Street")
+                        .append("\",\"city\":\"City ").append(h % 200)
+                        .append("\",\"country\":\"Country ").append(h % 20)
+                        .append("\",\"description\":\"Synthetic hotel ").append(h)
+                        .append("\",\"images\":[");
+                for (int i = 0; i < IMAGES_PER_HOTEL; i++) {
+                    if (i > 0) line.append(',');
+                    line.append("\"https://img.test/h").append(h).append('_').append(i).append(".jpg\"");
+                }
+                line.append("],\"rooms\":[");
+                for (int r = 0; r < ROOMS_PER_HOTEL; r++) {
+                    if (r > 0) line.append(',');
+                    line.append("{\"roomType\":\"Type ").append(r % 6)
+                            .append("\",\"price\":").append(50 + (h * 31 + r * 7) % 450)
+                            .append(",\"capacity\":").append(1 + r % 4)
+                            .append(",\"description\":\"Room ").append(r).append(" of hotel ").append(h)
+                            .append("\",\"images\":[");
+                    for (int i = 0; i < IMAGES_PER_ROOM; i++) {
+                        if (i > 0) line.append(',');
+                        line.append("\"https://img.test/h").append(h).append("_r").append(r).append('_').append(i)
+                                .append(".jpg\"");
+                    }
+                    line.append("]}");
+                }
+                line.append("]}\n");
+                writer.write(line.toString());
+            }
+        }
+    }
+}
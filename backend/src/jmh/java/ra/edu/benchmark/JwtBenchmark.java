@@ -0,0 +1,38 @@
+package ra.edu.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ra.edu.security.jwt.JWTProvider;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+    private JWTProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JWTProvider();
+        BenchmarkFixtures.setField(jwtProvider, "jwtSecret", "k23bjwtsecret");
+        BenchmarkFixtures.setField(jwtProvider, "jwtExpire", 86_400_000);
+        jwtProvider.init();
+        token = jwtProvider.generateToken("user1@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken("user1@example.com");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String parseUsername() {
+        return jwtProvider.parseUsername(token);
+    }
+}
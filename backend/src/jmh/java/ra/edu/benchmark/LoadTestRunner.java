@@ -0,0 +1,115 @@
+package ra.edu.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import ra.edu.BackendApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// So sánh thread pool Tomcat thường và virtual thread trên cùng một tải đọc catalog (cần MySQL local).
+// Chạy: ./gradlew loadTest -PloadClients=500 -PloadSeconds=30
+public class LoadTestRunner {
+    private static final String[] PATHS = {
+            "/api/v1/rooms/paged?page=1&size=20",
+            "/api/v1/rooms/cursor?size=20",
+            "/api/v1/rooms/search/paged?keyword=deluxe&page=1&size=20",
+    };
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/reports/load/load-test.json");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        List<String> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            results.add(run(virtualThreads, clients, seconds));
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, "[\n  " + String.join(",\n  ", results) + "\n]\n");
+        System.out.println("Kết quả: " + output.toAbsolutePath());
+    }
+
+    private static String run(boolean virtualThreads, int clients, int seconds) throws Exception {
+        ConfigurableApplicationContext context = SpringApplication.run(BackendApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jpa.show-sql=false");
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            // Làm nóng để JIT và cache không ảnh hưởng kết quả
+            drive(client, port, Math.min(clients, 50), 5, new long[1_000_000], new AtomicLong(), new AtomicLong(), new AtomicLong());
+
+            long[] latencies = new long[4_000_000];
+            AtomicLong count = new AtomicLong();
+            AtomicLong rejected = new AtomicLong();
+            AtomicLong errors = new AtomicLong();
+            drive(client, port, clients, seconds, latencies, count, rejected, errors);
+
+            int n = (int) Math.min(count.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, n);
+            Arrays.sort(sorted);
+            String line = String.format(Locale.ROOT,
+                    "{\"virtualThreads\": %s, \"clients\": %d, \"seconds\": %d, \"requests\": %d, \"throughput\": %.1f, "
+                            + "\"p50Ms\": %.2f, \"p95Ms\": %.2f, \"p99Ms\": %.2f, \"rejected429\": %d, \"errors\": %d}",
+                    virtualThreads, clients, seconds, count.get(), count.get() / (double) seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    rejected.get(), errors.get());
+            System.out.println(line);
+            return line;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void drive(HttpClient client, int port, int clients, int seconds, long[] latencies,
+                              AtomicLong count, AtomicLong rejected, AtomicLong errors) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        // Client luôn dùng virtual thread để phía tạo tải không phải là nút thắt
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String path = PATHS[ThreadLocalRandom.current().nextInt(PATHS.length)];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                .timeout(Duration.ofSeconds(10))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 429) rejected.incrementAndGet();
+                            else if (response.statusCode() >= 400) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        long index = count.getAndIncrement();
+                        if (index < latencies.length) latencies[(int) index] = System.nanoTime() - start;
+                    }
+                });
+            }
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
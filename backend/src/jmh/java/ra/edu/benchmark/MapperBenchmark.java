@@ -0,0 +1,38 @@
+package ra.edu.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ra.edu.dto.response.ReviewResponse;
+import ra.edu.dto.response.RoomResponse;
+import ra.edu.entity.Review;
+import ra.edu.entity.Room;
+import ra.edu.entity.RoomRatingSummary;
+import ra.edu.mapper.ReviewMapper;
+import ra.edu.mapper.RoomMapper;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+    private Room room;
+    private RoomRatingSummary summary;
+    private Review review;
+
+    @Setup
+    public void setUp() {
+        room = BenchmarkFixtures.room(1, BenchmarkFixtures.hotel(1));
+        summary = BenchmarkFixtures.summary(1);
+        review = BenchmarkFixtures.review(1, room, BenchmarkFixtures.user(1));
+    }
+
+    @Benchmark
+    public RoomResponse roomToResponse() {
+        return RoomMapper.toResponse(room, summary);
+    }
+
+    @Benchmark
+    public ReviewResponse reviewToResponse() {
+        return ReviewMapper.toResponse(review);
+    }
+}
@@ -0,0 +1,31 @@
+package ra.edu.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PasswordBenchmark {
+    // 10 là bcrypt_strength mặc định; mỗi lần tăng 1 thì thời gian kiểm tra mật khẩu khi đăng nhập tăng gấp đôi
+    @Param({"10", "11", "12"})
+    private int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode("matkhau123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("matkhau123", hash);
+    }
+}
@@ -0,0 +1,40 @@
+package ra.edu.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.RoomResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int rooms;
+
+    private ObjectMapper objectMapper;
+    private BaseResponse<List<RoomResponse>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = new BaseResponse<>(
+                true,
+                "Lấy danh sách phòng thành công",
+                BenchmarkFixtures.roomResponses(rooms),
+                null,
+                LocalDateTime.now()
+        );
+    }
+
+    @Benchmark
+    public byte[] serializeRooms() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
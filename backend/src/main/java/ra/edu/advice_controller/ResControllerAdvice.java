@@ -3,18 +3,24 @@ package ra.edu.advice_controller;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.apache.coyote.BadRequestException;
+import org.springframework.core.NestedRuntimeException;
 import org.springframework.data.crossstore.ChangeSetPersister;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 import ra.edu.dto.response.BaseResponse;
 import ra.edu.exception.ConflictException;
+import ra.edu.exception.ForbiddenException;
 import ra.edu.exception.NotFoundException;
+import ra.edu.exception.TooManyRequestsException;
 import ra.edu.exception.UnauthorizedException;
 
 import java.time.LocalDateTime;
@@ -96,6 +102,31 @@ public class ResControllerAdvice {
         return buildErrorResponse("Không được phép truy cập", buildSingleError("unauthorized", ex.getMessage()), HttpStatus.UNAUTHORIZED);
     }
 
+    // Đã đăng nhập nhưng không có quyền với tài nguyên này
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<BaseResponse<?>> handleForbidden(ForbiddenException ex) {
+        return buildErrorResponse("Không có quyền thực hiện", buildSingleError("forbidden", ex.getMessage()), HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<BaseResponse<?>> handleTooManyRequests(TooManyRequestsException ex) {
+        return buildErrorResponse("Hệ thống đang quá tải, vui lòng thử lại", buildSingleError("error", ex.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // Bulkhead từ chối lúc mượn connection nên TooManyRequestsException bị Spring bọc trong lỗi mở transaction/connection
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<BaseResponse<?>> handleConnectionUnavailable(NestedRuntimeException ex) {
+        if (ex.getMostSpecificCause() instanceof TooManyRequestsException tooMany) {
+            return handleTooManyRequests(tooMany);
+        }
+        return handleAllUnhandled(ex);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<BaseResponse<?>> handleMaxUploadSize(MaxUploadSizeExceededException ex) {
+        return buildErrorResponse("File quá lớn", buildSingleError("file", ex.getMessage()), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     // Helper tạo lỗi đơn (1 field + message)
     private List<BaseResponse.FieldError> buildSingleError(String field, String message) {
         return List.of(new BaseResponse.FieldError(field, message));
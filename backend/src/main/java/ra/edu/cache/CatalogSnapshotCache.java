@@ -0,0 +1,166 @@
+package ra.edu.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ra.edu.dto.response.BaseResponse;
+import ra.edu.enums.ImageVariant;
+import ra.edu.event.CatalogReloadedEvent;
+import ra.edu.event.HotelChangedEvent;
+import ra.edu.event.ReviewChangedEvent;
+import ra.edu.event.RoomChangedEvent;
+import ra.edu.service.EtagService;
+import ra.edu.service.ImageVariantService;
+import ra.edu.service.RoomService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+// Body của GET /api/v1/rooms (ảnh thumbnail) được serialize sẵn thành byte kèm bản gzip,
+// thay nguyên snapshot khi catalog đổi
+@Component
+@Slf4j
+public class CatalogSnapshotCache {
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private EtagService etagService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Mỗi content-coding là một representation riêng nên bản gzip mang strong ETag riêng (hậu tố -gzip)
+    @Getter
+    public static final class Snapshot {
+        private final byte[] body;
+        private final byte[] gzipBody;
+        private final String etag;
+        private final String gzipEtag;
+
+        private Snapshot(byte[] body, byte[] gzipBody, String etag) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.etag = etag;
+            this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    // Nhiều thay đổi liên tiếp chỉ dựng lại một lần
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private ExecutorService rebuildExecutor;
+
+    @PostConstruct
+    public void init() {
+        rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // Chỉ request đầu tiên trước khi snapshot sẵn sàng mới phải dựng
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = current.get();
+            if (snapshot == null) {
+                snapshot = build();
+                current.set(snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    public void warmUp() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    // Dựng ở luồng riêng; trong lúc đó request vẫn nhận snapshot cũ
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        try {
+            Snapshot snapshot = build();
+            synchronized (this) {
+                current.set(snapshot);
+            }
+        } catch (RuntimeException e) {
+            // Giữ snapshot cũ, lần thay đổi sau sẽ thử lại
+            log.warn("Không dựng được snapshot catalog phòng", e);
+        }
+    }
+
+    // Lấy ETag trước khi đọc phòng: nếu có thay đổi xen giữa thì sự kiện của nó sẽ dựng lại với ETag mới
+    private Snapshot build() {
+        long start = System.nanoTime();
+        String etag = etagService.getRoomsEtag();
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new BaseResponse<>(
+                    true,
+                    "Lấy danh sách phòng thành công",
+                    imageVariantService.withVariant(roomService.getRooms(), ImageVariant.THUMBNAIL),
+                    null,
+                    LocalDateTime.now()
+            ));
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(body);
+            }
+            log.info("Đã dựng snapshot catalog phòng: {} byte, gzip {} byte, {} ms",
+                    body.length, gzip.size(), (System.nanoTime() - start) / 1_000_000);
+            return new Snapshot(body, gzip.toByteArray(), etag);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
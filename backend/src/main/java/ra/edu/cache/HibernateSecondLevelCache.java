@@ -0,0 +1,57 @@
+package ra.edu.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ra.edu.dto.response.CacheStatsResponse;
+import ra.edu.event.CatalogReloadedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Thống kê hit/miss từng region second-level cache của Hibernate (rỗng nếu tắt hibernate_statistics)
+@Component
+public class HibernateSecondLevelCache {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // size = -1 khi provider (JCache) không hỗ trợ đếm số mục; JCache cũng không báo số lần evict
+    public List<CacheStatsResponse> stats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        List<CacheStatsResponse> result = new ArrayList<>();
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        for (String region : regions) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) continue;
+            long requests = stats.getHitCount() + stats.getMissCount();
+            result.add(new CacheStatsResponse(
+                    "l2:" + region,
+                    stats.getElementCountInMemory(),
+                    stats.getHitCount(),
+                    stats.getMissCount(),
+                    requests > 0 ? (double) stats.getHitCount() / requests : 1.0,
+                    -1
+            ));
+        }
+        return result;
+    }
+
+    // Import JDBC ghi thẳng vào bảng, Hibernate không biết để xóa entity/query cache tương ứng
+    @EventListener(CatalogReloadedEvent.class)
+    public void evictAll() {
+        sessionFactory().getCache().evictAllRegions();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
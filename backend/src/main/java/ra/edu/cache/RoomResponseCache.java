@@ -0,0 +1,120 @@
+package ra.edu.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ra.edu.dto.response.CacheStatsResponse;
+import ra.edu.dto.response.RoomResponse;
+import ra.edu.event.CatalogReloadedEvent;
+import ra.edu.event.HotelChangedEvent;
+import ra.edu.event.ReviewChangedEvent;
+import ra.edu.event.RoomChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Cache RoomResponse theo roomId và danh sách phòng theo hotelId, xóa đúng mục khi dữ liệu liên quan thay đổi
+@Component
+public class RoomResponseCache {
+    @Value("${room_cache_max_size:5000}")
+    private long maxSize;
+    @Value("${room_cache_ttl_seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<Integer, RoomResponse> roomsById;
+    private Cache<Integer, List<RoomResponse>> roomsByHotelId;
+
+    @PostConstruct
+    public void init() {
+        roomsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Mỗi mục là cả danh sách phòng nên tính trọng số theo số phòng
+        roomsByHotelId = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((Integer hotelId, List<RoomResponse> rooms) -> Math.max(1, rooms.size()))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public RoomResponse getRoom(Integer roomId, Function<Integer, RoomResponse> loader) {
+        return roomsById.get(roomId, loader);
+    }
+
+    public List<RoomResponse> getHotelRooms(Integer hotelId, Function<Integer, List<RoomResponse>> loader) {
+        return roomsByHotelId.get(hotelId, loader);
+    }
+
+    public void evictRoom(Integer roomId, Integer hotelId) {
+        if (roomId != null) {
+            roomsById.invalidate(roomId);
+            roomsByHotelId.asMap().values().removeIf(rooms ->
+                    rooms.stream().anyMatch(room -> roomId.equals(room.getRoomId())));
+        }
+        // Phòng mới chưa nằm trong danh sách đã cache của khách sạn
+        if (hotelId != null) {
+            roomsByHotelId.invalidate(hotelId);
+        }
+    }
+
+    public void evictHotel(Integer hotelId) {
+        roomsByHotelId.invalidate(hotelId);
+        roomsById.asMap().values().removeIf(room -> Objects.equals(hotelId, room.getHotelId()));
+    }
+
+    public void evictAll() {
+        roomsById.invalidateAll();
+        roomsByHotelId.invalidateAll();
+    }
+
+    public List<CacheStatsResponse> stats() {
+        return List.of(
+                toStats("roomsById", roomsById),
+                toStats("roomsByHotelId", roomsByHotelId)
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        evictRoom(event.getRoomId(), event.getHotelId());
+    }
+
+    // rating/reviewCount của phòng thay đổi khi có review mới
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        evictRoom(event.getRoomId(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        evictHotel(event.getHotelId());
+    }
+
+    // Import hàng loạt không phát sự kiện từng phòng
+    @EventListener(CatalogReloadedEvent.class)
+    public void onCatalogReloaded() {
+        evictAll();
+    }
+
+    public static CacheStatsResponse toStats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+                name,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
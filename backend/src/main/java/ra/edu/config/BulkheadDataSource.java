@@ -0,0 +1,26 @@
+package ra.edu.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Lấy permit bulkhead của request ngay trước khi mượn connection từ pool
+public class BulkheadDataSource extends DelegatingDataSource {
+    public BulkheadDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        BulkheadInterceptor.acquireForCurrentRequest();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        BulkheadInterceptor.acquireForCurrentRequest();
+        return super.getConnection(username, password);
+    }
+}
@@ -0,0 +1,209 @@
+package ra.edu.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import ra.edu.exception.TooManyRequestsException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Giới hạn số request đồng thời được chạm DB theo nhóm endpoint,
+// để virtual thread không làm cạn pool Hikari và nhóm này không chiếm hết connection của nhóm khác.
+// Permit chỉ được lấy khi request mở connection đầu tiên (BulkheadDataSource), nên request trả từ snapshot,
+// chỉ mục trong bộ nhớ hay 304 không bao giờ bị 429 vì bulkhead.
+// Phần còn lại của pool để dành cho việc nền không đi qua bulkhead (xem connectionBudget)
+@Component
+public class BulkheadInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+    // Permit của request mà luồng hiện tại đang phục vụ; luồng nền không có nên không bị giới hạn
+    private static final ThreadLocal<Permit> CURRENT = new ThreadLocal<>();
+    // Outbox dispatcher, luồng dựng snapshot catalog và lượt import catalog (không qua bulkhead): mỗi thứ một connection
+    private static final int SINGLE_THREAD_BACKGROUND_JOBS = 3;
+
+    public enum EndpointGroup {
+        CATALOG, AUTH, WRITE
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bulkhead_catalog_permits:6}")
+    private int catalogPermits;
+    @Value("${bulkhead_auth_permits:2}")
+    private int authPermits;
+    @Value("${bulkhead_write_permits:2}")
+    private int writePermits;
+    @Value("${bulkhead_max_wait_ms:200}")
+    private long maxWaitMs;
+    @Value("${upload_threads:4}")
+    private int uploadThreads;
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    private final Map<EndpointGroup, Semaphore> semaphores = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Counter> rejections = new EnumMap<>(EndpointGroup.class);
+
+    @PostConstruct
+    public void init() {
+        int required = connectionBudget();
+        if (required > poolSize) {
+            throw new IllegalStateException("Cần " + required + " connection (permit bulkhead + việc nền) nhưng "
+                    + "spring.datasource.hikari.maximum-pool-size chỉ là " + poolSize);
+        }
+        semaphores.put(EndpointGroup.CATALOG, new Semaphore(catalogPermits));
+        semaphores.put(EndpointGroup.AUTH, new Semaphore(authPermits));
+        semaphores.put(EndpointGroup.WRITE, new Semaphore(writePermits));
+        semaphores.forEach((group, semaphore) -> {
+            Gauge.builder("bulkhead.available", semaphore, Semaphore::availablePermits)
+                    .tag("group", group.name())
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder("bulkhead.rejected")
+                    .tag("group", group.name())
+                    .register(meterRegistry));
+        });
+    }
+
+    // Permit của một request: lấy ở lần mở connection đầu tiên, trả đúng một lần dù được gọi từ afterCompletion
+    // hay AsyncListener. Không dùng synchronized để virtual thread không bị ghim khi chờ semaphore
+    private final class Permit {
+        private static final int IDLE = 0;
+        private static final int HELD = 1;
+        private static final int DONE = 2;
+
+        private final EndpointGroup group;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+
+        private Permit(EndpointGroup group) {
+            this.group = group;
+        }
+
+        void acquire() {
+            if (state.get() != IDLE) return;
+            Semaphore semaphore = semaphores.get(group);
+            try {
+                if (!semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                    rejections.get(group).increment();
+                    throw new TooManyRequestsException("Quá nhiều yêu cầu đồng thời, vui lòng thử lại sau");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TooManyRequestsException("Yêu cầu bị hủy khi đang chờ kết nối");
+            }
+            // Luồng khác của cùng request đã lấy trước, hoặc request đã kết thúc
+            if (!state.compareAndSet(IDLE, HELD)) {
+                semaphore.release();
+            }
+        }
+
+        void release() {
+            if (state.getAndSet(DONE) == HELD) {
+                semaphores.get(group).release();
+            }
+        }
+    }
+
+    // Gọi từ BulkheadDataSource mỗi khi mở connection
+    static void acquireForCurrentRequest() {
+        Permit permit = CURRENT.get();
+        if (permit != null) {
+            permit.acquire();
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Lần dispatch ASYNC (StreamingResponseBody, ...) dùng tiếp permit của lần dispatch đầu
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Permit permit = new Permit(classify(request));
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        CURRENT.set(permit);
+        return true;
+    }
+
+    // Luồng chạy StreamingResponseBody/Callable đọc DB thay cho luồng request nên dùng chung permit
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Permit permit) {
+            CURRENT.set(permit);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        CURRENT.remove();
+    }
+
+    // Response còn đang được ghi ở luồng khác nên giữ permit tới khi async kết thúc,
+    // kể cả khi timeout hay client ngắt giữa chừng mà không có lần dispatch ASYNC nào
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CURRENT.remove();
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit && request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    permit.release();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        CURRENT.remove();
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    // Listener REQUIRES_NEW sau commit (facet, filter, search, availability) mở connection thứ hai trong khi
+    // transaction vừa commit chưa trả connection, nên mỗi permit WRITE và mỗi luồng upload tính hai connection
+    int connectionBudget() {
+        return catalogPermits + authPermits + 2 * (writePermits + uploadThreads) + SINGLE_THREAD_BACKGROUND_JOBS;
+    }
+
+    // Cho test giữ hết permit của một nhóm
+    Semaphore semaphore(EndpointGroup group) {
+        return semaphores.get(group);
+    }
+
+    static EndpointGroup classify(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/api/v1/auth/")) return EndpointGroup.AUTH;
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) return EndpointGroup.CATALOG;
+        return EndpointGroup.WRITE;
+    }
+}
@@ -0,0 +1,36 @@
+package ra.edu.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class UploadConfig {
+    // Số luồng và hàng đợi có giới hạn: hàng đợi đầy thì từ chối ngay (AbortPolicy) thay vì dồn file tạm lên đĩa
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor imageUploadExecutor(
+            @Value("${upload_threads:4}") int threads,
+            @Value("${upload_queue_capacity:50}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("image.upload.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("image.upload.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        return executor;
+    }
+}
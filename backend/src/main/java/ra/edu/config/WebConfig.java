@@ -0,0 +1,47 @@
+package ra.edu.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ra.edu.storage.LocalImageStore;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    @Autowired
+    private BulkheadInterceptor bulkheadInterceptor;
+
+    // Chỉ có khi image_store = local
+    @Autowired(required = false)
+    private LocalImageStore localImageStore;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Import catalog chạy hàng phút, nếu giữ permit WRITE thì chặn booking/review; nó được giới hạn một lượt
+        // mỗi lần trong CatalogImportServiceImp và đã có chỗ trong ngân sách connection
+        registry.addInterceptor(bulkheadInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/v1/admin/catalog/import");
+    }
+
+    // StreamingResponseBody đọc DB ở luồng async, luồng đó cần thấy permit của request
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(bulkheadInterceptor);
+    }
+
+    // Tên file ảnh là UUID, không bao giờ bị ghi đè nên cho cache lâu
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        if (localImageStore != null) {
+            registry.addResourceHandler(LocalImageStore.PUBLIC_PATH + "**")
+                    .addResourceLocations(localImageStore.getBaseDir().toUri().toString())
+                    .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+        }
+    }
+}
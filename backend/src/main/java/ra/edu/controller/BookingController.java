@@ -0,0 +1,83 @@
+package ra.edu.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import ra.edu.dto.request.BookingRequest;
+import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.BookingResponse;
+import ra.edu.security.principal.CustomUserDetails;
+import ra.edu.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/bookings")
+@RequiredArgsConstructor
+public class BookingController {
+    @Autowired
+    private BookingService bookingService;
+
+    @PostMapping
+    public ResponseEntity<BaseResponse<BookingResponse>> createBooking(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody BookingRequest request) {
+        BookingResponse booking = bookingService.createBooking(userDetails.getId(), request);
+        return new ResponseEntity<>(
+                new BaseResponse<>(
+                        true,
+                        "Đặt phòng thành công",
+                        booking,
+                        null,
+                        LocalDateTime.now()
+                ),
+                HttpStatus.CREATED
+        );
+    }
+
+    @PutMapping("/{bookingId}/cancel")
+    public ResponseEntity<BaseResponse<BookingResponse>> cancelBooking(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Integer bookingId) {
+        BookingResponse booking = bookingService.cancelBooking(userDetails.getId(), bookingId);
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Hủy đặt phòng thành công",
+                booking,
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/{bookingId}")
+    public ResponseEntity<BaseResponse<BookingResponse>> getBooking(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Integer bookingId) {
+        BookingResponse booking = bookingService.getBooking(userDetails.getId(), bookingId);
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy thông tin đặt phòng thành công",
+                booking,
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<BaseResponse<List<BookingResponse>>> getMyBookings(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        List<BookingResponse> bookings = bookingService.getBookingsByUserId(userDetails.getId());
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách đặt phòng thành công",
+                bookings,
+                null,
+                LocalDateTime.now()
+        ));
+    }
+}
@@ -0,0 +1,43 @@
+package ra.edu.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ra.edu.cache.HibernateSecondLevelCache;
+import ra.edu.cache.RoomResponseCache;
+import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.CacheStatsResponse;
+import ra.edu.security.principal.PrincipalCache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/caches")
+@RequiredArgsConstructor
+public class CacheController {
+    @Autowired
+    private RoomResponseCache roomResponseCache;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private HibernateSecondLevelCache hibernateSecondLevelCache;
+
+    @GetMapping
+    public ResponseEntity<BaseResponse<List<CacheStatsResponse>>> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>(roomResponseCache.stats());
+        stats.add(RoomResponseCache.toStats("principals", principalCache.getCache()));
+        stats.addAll(hibernateSecondLevelCache.stats());
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy thống kê cache thành công",
+                stats,
+                null,
+                LocalDateTime.now()
+        ));
+    }
+}
@@ -0,0 +1,41 @@
+package ra.edu.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.CatalogImportResponse;
+import ra.edu.security.principal.CustomUserDetails;
+import ra.edu.service.CatalogImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/admin/catalog")
+@RequiredArgsConstructor
+public class CatalogImportController {
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    // Body NDJSON, mỗi dòng một khách sạn kèm phòng và ảnh; đọc thẳng từ request stream, không lưu file tạm
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BaseResponse<CatalogImportResponse>> importCatalog(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            InputStream body) throws IOException {
+        CatalogImportResponse result = catalogImportService.importCatalog(userDetails.getId(), body);
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Import catalog thành công",
+                result,
+                null,
+                LocalDateTime.now()
+        ));
+    }
+}
@@ -0,0 +1,58 @@
+package ra.edu.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.HotelFacetsResponse;
+import ra.edu.dto.response.HotelResponse;
+import ra.edu.dto.response.PagedData;
+import ra.edu.service.HotelService;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/hotels")
+@RequiredArgsConstructor
+public class HotelController {
+    @Autowired
+    private HotelService hotelService;
+
+    @GetMapping
+    public ResponseEntity<BaseResponse<PagedData<HotelResponse>>> getHotels(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách khách sạn thành công",
+                hotelService.getHotelsPage(city, country, page, size),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<BaseResponse<HotelFacetsResponse>> getFacets() {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy bộ lọc khách sạn thành công",
+                hotelService.getFacets(),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/{hotelId}")
+    public ResponseEntity<BaseResponse<HotelResponse>> getHotelById(@PathVariable Integer hotelId) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy thông tin khách sạn thành công",
+                hotelService.getHotelById(hotelId),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+}
@@ -3,11 +3,21 @@ package ra.edu.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ra.edu.dto.request.CommentRequest;
 import ra.edu.dto.request.ReviewRequest;
 import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.CommentResponse;
+import ra.edu.dto.response.CursorData;
 import ra.edu.dto.response.ReviewResponse;
+import ra.edu.dto.response.ReviewThreadResponse;
+import ra.edu.security.principal.CustomUserDetails;
+import ra.edu.service.CommentService;
+import ra.edu.service.EtagService;
 import ra.edu.service.ReviewService;
 
 import java.time.LocalDateTime;
@@ -20,6 +30,12 @@ public class ReviewController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private EtagService etagService;
+
     @PostMapping
     public ResponseEntity<BaseResponse<ReviewResponse>> createReview(@Valid @RequestBody ReviewRequest request) {
         ReviewResponse review = reviewService.createReview(request);
@@ -33,7 +49,10 @@ public class ReviewController {
     }
 
     @GetMapping("/room/{roomId}")
-    public ResponseEntity<BaseResponse<List<ReviewResponse>>> getReviewsByRoomId(@PathVariable Integer roomId) {
+    public ResponseEntity<BaseResponse<List<ReviewResponse>>> getReviewsByRoomId(@PathVariable Integer roomId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(etagService.getRoomReviewsEtag(roomId))) {
+            return null;
+        }
         List<ReviewResponse> reviews = reviewService.getReviewsByRoomId(roomId);
         return ResponseEntity.ok(new BaseResponse<>(
                 true,
@@ -43,4 +62,66 @@ public class ReviewController {
                 LocalDateTime.now()
         ));
     }
+
+    @GetMapping("/room/{roomId}/cursor")
+    public ResponseEntity<BaseResponse<CursorData<ReviewResponse>>> getReviewsByRoomIdBefore(
+            @PathVariable Integer roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách đánh giá thành công",
+                reviewService.getReviewsByRoomIdBefore(roomId, cursor, size),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    // Trang review kèm N phản hồi đầu của mỗi review cho màn chi tiết phòng
+    @GetMapping("/room/{roomId}/threads")
+    public ResponseEntity<BaseResponse<CursorData<ReviewThreadResponse>>> getReviewThreadsByRoomIdBefore(
+            @PathVariable Integer roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "3") int replies) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách đánh giá thành công",
+                reviewService.getReviewThreadsByRoomIdBefore(roomId, cursor, size, replies),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/{reviewId}/comments")
+    public ResponseEntity<BaseResponse<CursorData<CommentResponse>>> getCommentsByReviewId(
+            @PathVariable Integer reviewId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách phản hồi thành công",
+                commentService.getCommentsByReviewId(reviewId, cursor, size),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @PostMapping("/{reviewId}/comments")
+    public ResponseEntity<BaseResponse<CommentResponse>> createComment(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Integer reviewId,
+            @Valid @RequestBody CommentRequest request) {
+        CommentResponse comment = commentService.createComment(userDetails.getId(), reviewId, request);
+        return new ResponseEntity<>(
+                new BaseResponse<>(
+                        true,
+                        "Phản hồi đánh giá thành công",
+                        comment,
+                        null,
+                        LocalDateTime.now()
+                ),
+                HttpStatus.CREATED
+        );
+    }
 }
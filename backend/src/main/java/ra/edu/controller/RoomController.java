@@ -1,13 +1,33 @@
 package ra.edu.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ra.edu.cache.CatalogSnapshotCache;
 import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.CursorData;
+import ra.edu.dto.response.PagedData;
 import ra.edu.dto.response.RoomResponse;
+import ra.edu.enums.ImageVariant;
+import ra.edu.service.EtagService;
+import ra.edu.service.ImageVariantService;
 import ra.edu.service.RoomService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,24 +35,119 @@ import java.util.List;
 @RequestMapping("/api/v1/rooms")
 @RequiredArgsConstructor
 public class RoomController {
+    private static final int STREAM_FLUSH_EVERY = 500;
+
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private EtagService etagService;
+
+    @Autowired
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Ghi thẳng byte đã serialize sẵn trong snapshot; If-None-Match khớp ETag của bản thường hoặc bản gzip thì trả 304
     @GetMapping
-    public ResponseEntity<BaseResponse<List<RoomResponse>>> getRooms() {
-        List<RoomResponse> rooms = roomService.getRooms();
-        return ResponseEntity.ok(new BaseResponse<>(
-                true,
-                "Lấy danh sách phòng thành công",
-                rooms,
-                null,
-                LocalDateTime.now()
-        ));
+    public ResponseEntity<?> getRooms(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(required = false) String variant) {
+        // Snapshot chỉ giữ bản thumbnail, kích thước khác thì dựng body như bình thường
+        ImageVariant imageVariant = listVariant(variant);
+        if (imageVariant != ImageVariant.THUMBNAIL) {
+            return ResponseEntity.ok(new BaseResponse<>(
+                    true,
+                    "Lấy danh sách phòng thành công",
+                    imageVariantService.withVariant(roomService.getRooms(), imageVariant),
+                    null,
+                    LocalDateTime.now()
+            ));
+        }
+        CatalogSnapshotCache.Snapshot snapshot = catalogSnapshotCache.get();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.getGzipEtag() : snapshot.getEtag();
+        // Cùng nội dung nên bản đã cache ở encoding nào cũng còn hiệu lực
+        if (etagMatches(ifNoneMatch, snapshot.getEtag()) || etagMatches(ifNoneMatch, snapshot.getGzipEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzipBody());
+        }
+        return response.body(snapshot.getBody());
+    }
+
+    // Accept-Encoding có q-value: "gzip;q=0" nghĩa là từ chối; "*" áp dụng khi không nhắc tới gzip
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) gzipQuality = quality;
+            else if (coding.equals("*")) wildcardQuality = quality;
+        }
+        if (gzipQuality != null) return gzipQuality > 0;
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    // So khớp yếu theo RFC 9110 cho If-None-Match: bỏ tiền tố W/, "*" khớp mọi ETag
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) return true;
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    // Xuất toàn bộ catalog dạng NDJSON, mỗi dòng một phòng, không giữ cả danh sách trong bộ nhớ.
+    // Ảnh mặc định thumbnail như các endpoint danh sách JSON
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRooms(@RequestParam(required = false) String variant) {
+        ImageVariant imageVariant = listVariant(variant);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeRooms(out, imageVariant));
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamRoomsByFlag(@RequestParam(required = false) String variant) {
+        return streamRooms(variant);
     }
 
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<BaseResponse<List<RoomResponse>>> getRoomsByHotelId(@PathVariable Integer hotelId) {
-        List<RoomResponse> rooms = roomService.getRoomsByHotelId(hotelId);
+    public ResponseEntity<BaseResponse<List<RoomResponse>>> getRoomsByHotelId(
+            @PathVariable Integer hotelId,
+            @RequestParam(required = false) String variant) {
+        List<RoomResponse> rooms = imageVariantService.withVariant(
+                roomService.getRoomsByHotelId(hotelId), listVariant(variant));
          return ResponseEntity.ok(new BaseResponse<>(
                 true,
                 "Lấy danh sách phòng theo khách sạn thành công",
@@ -43,8 +158,17 @@ public class RoomController {
     }
 
     @GetMapping("/{roomId}")
-    public ResponseEntity<BaseResponse<RoomResponse>> getRoomById(@PathVariable Integer roomId) {
-        RoomResponse room = roomService.getRoomById(roomId);
+    public ResponseEntity<BaseResponse<RoomResponse>> getRoomById(
+            @PathVariable Integer roomId,
+            @RequestParam(required = false) String variant,
+            WebRequest webRequest) {
+        // Màn chi tiết mặc định ảnh medium, gallery xem ảnh gốc thì truyền variant=full
+        ImageVariant imageVariant = ImageVariant.from(variant, ImageVariant.MEDIUM);
+        String etag = etagService.getRoomEtag(roomId, imageVariant);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        RoomResponse room = imageVariantService.withVariant(roomService.getRoomById(roomId), imageVariant);
         return ResponseEntity.ok(new BaseResponse<>(
                 true,
                 "Lấy thông tin phòng thành công",
@@ -55,8 +179,11 @@ public class RoomController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<BaseResponse<List<RoomResponse>>> searchRooms(@RequestParam String keyword) {
-        List<RoomResponse> rooms = roomService.searchRooms(keyword);
+    public ResponseEntity<BaseResponse<List<RoomResponse>>> searchRooms(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String variant) {
+        List<RoomResponse> rooms = imageVariantService.withVariant(
+                roomService.searchRooms(keyword), listVariant(variant));
         return ResponseEntity.ok(new BaseResponse<>(
                 true,
                 "Tìm kiếm phòng thành công",
@@ -65,4 +192,174 @@ public class RoomController {
                 LocalDateTime.now()
         ));
     }
+
+    @GetMapping("/paged")
+    public ResponseEntity<BaseResponse<PagedData<RoomResponse>>> getRoomsPage(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách phòng thành công",
+                imageVariantService.withVariant(
+                        roomService.getRoomsPage(page, size),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<BaseResponse<CursorData<RoomResponse>>> getRoomsAfter(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách phòng thành công",
+                imageVariantService.withVariant(
+                        roomService.getRoomsAfter(cursor, size),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/hotel/{hotelId}/paged")
+    public ResponseEntity<BaseResponse<PagedData<RoomResponse>>> getRoomsByHotelIdPage(
+            @PathVariable Integer hotelId,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách phòng theo khách sạn thành công",
+                imageVariantService.withVariant(
+                        roomService.getRoomsByHotelIdPage(hotelId, page, size),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/hotel/{hotelId}/cursor")
+    public ResponseEntity<BaseResponse<CursorData<RoomResponse>>> getRoomsByHotelIdAfter(
+            @PathVariable Integer hotelId,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách phòng theo khách sạn thành công",
+                imageVariantService.withVariant(
+                        roomService.getRoomsByHotelIdAfter(hotelId, cursor, size),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/search/paged")
+    public ResponseEntity<BaseResponse<PagedData<RoomResponse>>> searchRoomsPage(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Tìm kiếm phòng thành công",
+                imageVariantService.withVariant(
+                        roomService.searchRoomsPage(keyword, page, size),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/search/cursor")
+    public ResponseEntity<BaseResponse<CursorData<RoomResponse>>> searchRoomsAfter(
+            @RequestParam String keyword,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Tìm kiếm phòng thành công",
+                imageVariantService.withVariant(
+                        roomService.searchRoomsAfter(keyword, cursor, size),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    // Màn hình lọc: khoảng giá, số khách, khách sạn; sort = price_asc | price_desc | rating_desc
+    @GetMapping("/filter")
+    public ResponseEntity<BaseResponse<PagedData<RoomResponse>>> filterRooms(
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer guests,
+            @RequestParam(required = false) Integer hotelId,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lọc phòng thành công",
+                imageVariantService.withVariant(
+                        roomService.filterRooms(minPrice, maxPrice, guests, hotelId, sort, page, size),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    @GetMapping("/available")
+    public ResponseEntity<BaseResponse<List<RoomResponse>>> getAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "1") int guests,
+            @RequestParam(required = false) Integer hotelId,
+            @RequestParam(required = false) String variant) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy danh sách phòng trống thành công",
+                imageVariantService.withVariant(
+                        roomService.getAvailableRooms(checkIn, checkOut, guests, hotelId),
+                        listVariant(variant)),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    // Màn danh sách chỉ cần thumbnail
+    private static ImageVariant listVariant(String variant) {
+        return ImageVariant.from(variant, ImageVariant.THUMBNAIL);
+    }
+
+    private void writeRooms(OutputStream out, ImageVariant variant) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(RoomResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            try {
+                roomService.exportRooms(room -> {
+                    try {
+                        writer.writeValue(generator, imageVariantService.withVariant(room, variant));
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
 }
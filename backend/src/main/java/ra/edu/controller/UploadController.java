@@ -0,0 +1,66 @@
+package ra.edu.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import ra.edu.dto.response.BaseResponse;
+import ra.edu.dto.response.UploadJobResponse;
+import ra.edu.security.principal.CustomUserDetails;
+import ra.edu.service.ImageUploadService;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @PostMapping(value = "/rooms/{roomId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BaseResponse<UploadJobResponse>> uploadRoomImage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Integer roomId,
+            @RequestParam("file") MultipartFile file) {
+        return accepted(imageUploadService.uploadRoomImage(userDetails.getId(), roomId, file));
+    }
+
+    @PostMapping(value = "/hotels/{hotelId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BaseResponse<UploadJobResponse>> uploadHotelImage(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Integer hotelId,
+            @RequestParam("file") MultipartFile file) {
+        return accepted(imageUploadService.uploadHotelImage(userDetails.getId(), hotelId, file));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BaseResponse<UploadJobResponse>> getJob(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(new BaseResponse<>(
+                true,
+                "Lấy trạng thái upload thành công",
+                imageUploadService.getJob(userDetails.getId(), jobId),
+                null,
+                LocalDateTime.now()
+        ));
+    }
+
+    private ResponseEntity<BaseResponse<UploadJobResponse>> accepted(UploadJobResponse job) {
+        return new ResponseEntity<>(
+                new BaseResponse<>(
+                        true,
+                        "Đã nhận ảnh, đang tải lên",
+                        job,
+                        null,
+                        LocalDateTime.now()
+                ),
+                HttpStatus.ACCEPTED
+        );
+    }
+}
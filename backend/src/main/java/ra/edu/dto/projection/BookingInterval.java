@@ -0,0 +1,13 @@
+package ra.edu.dto.projection;
+
+import ra.edu.enums.BookingStatus;
+
+import java.time.LocalDate;
+
+public interface BookingInterval {
+    Integer getBookingId();
+    Integer getRoomId();
+    LocalDate getCheckIn();
+    LocalDate getCheckOut();
+    BookingStatus getStatus();
+}
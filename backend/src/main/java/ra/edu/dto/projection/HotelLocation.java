@@ -0,0 +1,7 @@
+package ra.edu.dto.projection;
+
+public interface HotelLocation {
+    Integer getHotelId();
+    String getCity();
+    String getCountry();
+}
@@ -0,0 +1,20 @@
+package ra.edu.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Một dòng phẳng của HotelResponse (chưa có ảnh), kèm số phòng và giá thấp nhất
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelRow {
+    private Integer hotelId;
+    private String hotelName;
+    private String address;
+    private String city;
+    private String country;
+    private String description;
+    private Long roomCount;
+    private Double minPrice;
+}
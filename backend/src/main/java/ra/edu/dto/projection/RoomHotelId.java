@@ -0,0 +1,6 @@
+package ra.edu.dto.projection;
+
+public interface RoomHotelId {
+    Integer getRoomId();
+    Integer getHotelId();
+}
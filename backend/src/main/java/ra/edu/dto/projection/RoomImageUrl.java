@@ -0,0 +1,6 @@
+package ra.edu.dto.projection;
+
+public interface RoomImageUrl {
+    Integer getRoomId();
+    String getImageUrl();
+}
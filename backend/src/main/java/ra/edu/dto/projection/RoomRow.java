@@ -0,0 +1,22 @@
+package ra.edu.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Một dòng phẳng của RoomResponse (chưa có ảnh), đọc bằng constructor projection
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomRow {
+    private Integer roomId;
+    private String roomType;
+    private Double price;
+    private Integer capacity;
+    private String description;
+    private Integer hotelId;
+    private String hotelName;
+    private String address;
+    private Long ratingSum;
+    private Integer reviewCount;
+}
@@ -0,0 +1,10 @@
+package ra.edu.dto.projection;
+
+public interface RoomSearchDocument {
+    Integer getRoomId();
+    String getRoomType();
+    String getDescription();
+    String getHotelName();
+    String getCity();
+    String getCountry();
+}
@@ -0,0 +1,33 @@
+package ra.edu.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRequest {
+    @NotNull(message = "Phòng không được để trống")
+    private Integer roomId;
+
+    @NotNull(message = "Ngày nhận phòng không được để trống")
+    private LocalDate checkIn;
+
+    @NotNull(message = "Ngày trả phòng không được để trống")
+    private LocalDate checkOut;
+
+    @NotNull(message = "Số người lớn không được để trống")
+    @Min(value = 1, message = "Phải có ít nhất 1 người lớn")
+    private Integer adultsCount;
+
+    @Min(value = 0, message = "Số trẻ em không hợp lệ")
+    private Integer childrenCount;
+
+    @Min(value = 0, message = "Số em bé không hợp lệ")
+    private Integer infantsCount;
+}
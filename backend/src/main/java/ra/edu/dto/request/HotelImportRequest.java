@@ -0,0 +1,32 @@
+package ra.edu.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Một dòng NDJSON của file import: khách sạn kèm ảnh và các phòng của nó
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelImportRequest {
+    private String hotelName;
+    private String address;
+    private String city;
+    private String country;
+    private String description;
+    private List<String> images;
+    private List<RoomImportRequest> rooms;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomImportRequest {
+        private String roomType;
+        private Double price;
+        private Integer capacity;
+        private String description;
+        private List<String> images;
+    }
+}
@@ -0,0 +1,28 @@
+package ra.edu.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingResponse {
+    private Integer bookingId;
+    private Integer roomId;
+    private String roomType;
+    private Integer hotelId;
+    private String hotelName;
+    private Integer userId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private Double totalPrice;
+    private String status;
+    private Integer adultsCount;
+    private Integer childrenCount;
+    private Integer infantsCount;
+    private LocalDateTime createdAt;
+}
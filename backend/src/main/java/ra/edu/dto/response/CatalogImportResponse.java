@@ -0,0 +1,19 @@
+package ra.edu.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogImportResponse {
+    private long hotels;
+    private long rooms;
+    private long hotelImages;
+    private long roomImages;
+    private long totalRows;
+    private int chunks;
+    private long elapsedMs;
+    private double rowsPerSecond;
+}
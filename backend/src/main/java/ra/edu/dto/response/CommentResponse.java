@@ -0,0 +1,19 @@
+package ra.edu.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentResponse {
+    private Integer commentId;
+    private Integer reviewId;
+    private Integer userId;
+    private String userName;
+    private String comment;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package ra.edu.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelFacetsResponse {
+    private List<FacetCount> cities;
+    private List<FacetCount> countries;
+}
@@ -0,0 +1,22 @@
+package ra.edu.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelResponse {
+    private Integer hotelId;
+    private String hotelName;
+    private String address;
+    private String city;
+    private String country;
+    private String description;
+    private List<String> imageUrls;
+    private Integer roomCount;
+    private Double minPrice;
+}
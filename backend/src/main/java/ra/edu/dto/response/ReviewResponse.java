@@ -18,4 +18,5 @@ public class ReviewResponse {
     private Integer rating;
     private String comment;
     private LocalDateTime createdAt;
+    private Integer replyCount;
 }
@@ -0,0 +1,16 @@
+package ra.edu.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewThreadResponse {
+    private ReviewResponse review;
+    // N phản hồi đầu tiên, đủ hết thì review.replyCount == replies.size()
+    private List<CommentResponse> replies;
+}
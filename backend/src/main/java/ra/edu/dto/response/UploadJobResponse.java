@@ -0,0 +1,29 @@
+package ra.edu.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ra.edu.enums.UploadStatus;
+import ra.edu.enums.UploadTarget;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UploadJobResponse {
+    private String jobId;
+    private UploadTarget target;
+    private Integer targetId;
+    private UploadStatus status;
+    private Integer imageId;
+    private String imageUrl;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @JsonIgnore
+    private Integer userId;
+}
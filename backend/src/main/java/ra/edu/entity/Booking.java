@@ -3,16 +3,24 @@ package ra.edu.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import ra.edu.enums.BookingStatus;
+import ra.edu.event.EntityChangeListener;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        // Kiểm tra trùng lịch theo phòng
+        @Index(name = "idx_bookings_room_dates", columnList = "room_id, check_in, check_out"),
+        // Dựng lịch trống khi khởi động: booking còn hiệu lực theo check_out
+        @Index(name = "idx_bookings_check_out_status", columnList = "check_out, status"),
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EntityChangeListener.class)
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Luồng phản hồi theo review: review_id + (created_at, comment_id)
+        @Index(name = "idx_comments_review_created", columnList = "review_id, created_at, comment_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
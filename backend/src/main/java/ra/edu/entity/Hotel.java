@@ -2,15 +2,25 @@ package ra.edu.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ra.edu.event.EntityChangeListener;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotels", indexes = {
+        @Index(name = "idx_hotels_city", columnList = "city"),
+        @Index(name = "idx_hotels_country", columnList = "country")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EntityChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Hotel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,13 +48,23 @@ public class Hotel {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    @ManyToOne
+    // LAZY: User không nằm trong second-level cache, nạp EAGER sẽ tốn một câu SQL mỗi lần lấy Hotel từ cache.
+    // Kiểm tra quyền chỉ cần owner.getUserId(), đọc được từ proxy mà không chạm DB
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", referencedColumnName = "user_id")
     private User owner;
 
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<HotelImage> hotelImages;
 
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Room> rooms;
+
+    // Mốc phiên bản cho ETag, cập nhật mỗi khi entity được lưu
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedAt() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,64 @@
+package ra.edu.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import ra.edu.enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+
+// Thư chờ gửi, được ghi cùng transaction với thay đổi booking và được gửi nền bởi OutboxDispatcher
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at, id"),
+        @Index(name = "idx_outbox_status_lease", columnList = "status, lease_expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "message_type", length = 50, nullable = false)
+    private String messageType;
+
+    @Column(name = "aggregate_id")
+    private Integer aggregateId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    // VARCHAR thay vì kiểu enum của MySQL để thêm trạng thái mới không phải ALTER bảng
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20, nullable = false)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -2,15 +2,23 @@ package ra.edu.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import ra.edu.event.EntityChangeListener;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Feed theo phòng: room_id + keyset (created_at, review_id)
+        @Index(name = "idx_reviews_room_created", columnList = "room_id, created_at, review_id"),
+        // existsByUser_UserIdAndRoom_RoomId
+        @Index(name = "idx_reviews_user_room", columnList = "user_id, room_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EntityChangeListener.class)
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,6 +41,11 @@ public class Review {
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Đếm sẵn số phản hồi, tăng bằng UPDATE nguyên tử khi thêm comment thay vì COUNT mỗi lần đọc
+    @Builder.Default
+    @Column(name = "reply_count", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer replyCount = 0;
+
     @OneToMany(mappedBy = "review", cascade = CascadeType.ALL)
     private List<Comment> comments;
 }
@@ -2,13 +2,21 @@ package ra.edu.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ra.edu.event.EntityChangeListener;
 
 @Entity
-@Table(name = "room_images")
+@Table(name = "room_images", indexes = {
+        @Index(name = "idx_room_images_room", columnList = "room_id, image_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EntityChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class RoomImage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
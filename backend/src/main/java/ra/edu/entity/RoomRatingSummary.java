@@ -0,0 +1,32 @@
+package ra.edu.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "room_rating_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomRatingSummary {
+    @Id
+    @Column(name = "room_id")
+    private Integer roomId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum;
+
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Double getAverageRating() {
+        if (reviewCount == null || reviewCount == 0) return null;
+        return ratingSum.doubleValue() / reviewCount;
+    }
+}
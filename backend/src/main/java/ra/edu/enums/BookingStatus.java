@@ -1,7 +1,16 @@
 package ra.edu.enums;
 
+import java.util.List;
+
 public enum BookingStatus {
     PENDING,
     CONFIRMED,
-    CANCELLED
+    CANCELLED;
+
+    // Các trạng thái đang giữ phòng
+    public static final List<BookingStatus> ACTIVE = List.of(PENDING, CONFIRMED);
+
+    public boolean isActive() {
+        return this != CANCELLED;
+    }
 }
@@ -0,0 +1,16 @@
+package ra.edu.enums;
+
+import java.util.Locale;
+
+public enum ImageVariant {
+    THUMBNAIL, MEDIUM, FULL;
+
+    public static ImageVariant from(String value, ImageVariant defaultVariant) {
+        if (value == null || value.isBlank()) return defaultVariant;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Kích thước ảnh không hợp lệ: " + value);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ra.edu.enums;
+
+public enum OutboxStatus {
+    // IN_FLIGHT: đã được một dispatcher nhận, đang gửi SMTP; hết lease mà chưa ghi kết quả thì trở lại PENDING
+    PENDING, IN_FLIGHT, SENT, FAILED
+}
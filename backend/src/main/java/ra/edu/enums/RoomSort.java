@@ -0,0 +1,16 @@
+package ra.edu.enums;
+
+import java.util.Locale;
+
+public enum RoomSort {
+    PRICE_ASC, PRICE_DESC, RATING_DESC;
+
+    public static RoomSort from(String value) {
+        if (value == null || value.isBlank()) return PRICE_ASC;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Kiểu sắp xếp không hợp lệ: " + value);
+        }
+    }
+}
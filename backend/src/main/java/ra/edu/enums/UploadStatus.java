@@ -0,0 +1,5 @@
+package ra.edu.enums;
+
+public enum UploadStatus {
+    PENDING, RUNNING, DONE, FAILED
+}
@@ -0,0 +1,5 @@
+package ra.edu.enums;
+
+public enum UploadTarget {
+    ROOM, HOTEL
+}
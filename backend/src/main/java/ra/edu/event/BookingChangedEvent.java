@@ -0,0 +1,12 @@
+package ra.edu.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+    private final Integer bookingId;
+    private final Integer roomId;
+    private final boolean removed;
+}
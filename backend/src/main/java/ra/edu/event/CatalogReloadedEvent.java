@@ -0,0 +1,12 @@
+package ra.edu.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Dữ liệu catalog được ghi thẳng bằng JDBC (không qua EntityChangeListener), các chỉ mục/cache phải dựng lại toàn bộ
+@Getter
+@AllArgsConstructor
+public class CatalogReloadedEvent {
+    private final long hotels;
+    private final long rooms;
+}
@@ -0,0 +1,51 @@
+package ra.edu.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import ra.edu.entity.*;
+
+// Phát sự kiện khi entity thay đổi, các bộ nhớ đệm/chỉ mục lắng nghe sau khi commit
+public class EntityChangeListener {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publish(entity, false);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        publish(entity, true);
+    }
+
+    private void publish(Object entity, boolean removed) {
+        if (eventPublisher == null) return;
+
+        if (entity instanceof Room room) {
+            eventPublisher.publishEvent(new RoomChangedEvent(room.getRoomId(), hotelIdOf(room), removed));
+        } else if (entity instanceof RoomImage image && image.getRoom() != null) {
+            // Ảnh thuộc về nội dung phòng nên coi như phòng thay đổi
+            Room room = image.getRoom();
+            eventPublisher.publishEvent(new RoomChangedEvent(room.getRoomId(), hotelIdOf(room), false));
+        } else if (entity instanceof Hotel hotel) {
+            eventPublisher.publishEvent(new HotelChangedEvent(hotel.getHotelId(), removed));
+        } else if (entity instanceof Review review) {
+            Integer roomId = review.getRoom() != null ? review.getRoom().getRoomId() : null;
+            eventPublisher.publishEvent(new ReviewChangedEvent(review.getReviewId(), roomId, removed));
+        } else if (entity instanceof Booking booking) {
+            Integer roomId = booking.getRoom() != null ? booking.getRoom().getRoomId() : null;
+            eventPublisher.publishEvent(new BookingChangedEvent(booking.getBookingId(), roomId, removed));
+        } else if (entity instanceof User user) {
+            eventPublisher.publishEvent(new UserChangedEvent(user.getUserId(), user.getEmail(), removed));
+        }
+    }
+
+    private Integer hotelIdOf(Room room) {
+        return room.getHotel() != null ? room.getHotel().getHotelId() : null;
+    }
+}
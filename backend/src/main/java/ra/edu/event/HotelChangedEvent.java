@@ -0,0 +1,11 @@
+package ra.edu.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class HotelChangedEvent {
+    private final Integer hotelId;
+    private final boolean removed;
+}
@@ -0,0 +1,12 @@
+package ra.edu.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ReviewChangedEvent {
+    private final Integer reviewId;
+    private final Integer roomId;
+    private final boolean removed;
+}
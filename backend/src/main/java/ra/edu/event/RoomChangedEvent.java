@@ -0,0 +1,12 @@
+package ra.edu.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RoomChangedEvent {
+    private final Integer roomId;
+    private final Integer hotelId;
+    private final boolean removed;
+}
@@ -0,0 +1,12 @@
+package ra.edu.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final Integer userId;
+    private final String email;
+    private final boolean removed;
+}
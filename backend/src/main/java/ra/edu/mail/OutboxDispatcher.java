@@ -0,0 +1,174 @@
+package ra.edu.mail;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ra.edu.entity.OutboxMessage;
+import ra.edu.enums.OutboxStatus;
+import ra.edu.repository.OutboxMessageRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Gửi thư trong outbox theo lô: mỗi lô dùng chung một kết nối SMTP (JavaMailSender.send(MimeMessage...)),
+// thư lỗi được thử lại với thời gian chờ tăng gấp đôi cho tới outbox_max_attempts.
+// Nhận lô và ghi kết quả là hai transaction ngắn; lúc gửi SMTP không giữ khóa dòng hay connection nào
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.mail.host")
+public class OutboxDispatcher {
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${mail_from:no-reply@localhost}")
+    private String from;
+    @Value("${outbox_batch_size:50}")
+    private int batchSize;
+    @Value("${outbox_max_attempts:8}")
+    private int maxAttempts;
+    @Value("${outbox_backoff_base_seconds:30}")
+    private long backoffBaseSeconds;
+    @Value("${outbox_backoff_max_seconds:3600}")
+    private long backoffMaxSeconds;
+    @Value("${outbox_lease_seconds:300}")
+    private long leaseSeconds;
+
+    // Bảng tạo trước khi có IN_FLIGHT dùng kiểu enum('PENDING','SENT','FAILED'), ddl-auto=update không sửa cột cũ
+    @PostConstruct
+    public void migrateStatusColumn() {
+        List<String> types = jdbcTemplate.queryForList("SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'outbox_messages' AND COLUMN_NAME = 'status'",
+                String.class);
+        if (types.contains("enum")) {
+            jdbcTemplate.execute("ALTER TABLE outbox_messages MODIFY status VARCHAR(20) NOT NULL");
+            log.info("Đã đổi outbox_messages.status sang VARCHAR(20)");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${outbox_poll_ms:2000}", fixedDelayString = "${outbox_poll_ms:2000}")
+    public void poll() {
+        // Rút cạn các lô đủ hạn, dừng khi lô cuối không đầy
+        while (dispatchBatch() == batchSize) {
+        }
+    }
+
+    // Trả về số thư đã nhận trong lô. Nếu tiến trình chết sau khi nhận, thư được nhận lại khi hết lease (at-least-once)
+    public int dispatchBatch() {
+        List<OutboxMessage> batch = claim();
+        if (batch == null || batch.isEmpty()) return 0;
+        Map<Long, Exception> failures = send(batch);
+        record(batch, failures);
+        return batch.size();
+    }
+
+    // Đánh dấu IN_FLIGHT kèm hạn lease rồi commit ngay để nhả khóa FOR UPDATE
+    private List<OutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            outboxMessageRepository.releaseExpiredLeases(now);
+            List<OutboxMessage> batch = outboxMessageRepository.claimBatch(now, batchSize);
+            LocalDateTime leaseExpiresAt = now.plusSeconds(leaseSeconds);
+            batch.forEach(message -> {
+                message.setStatus(OutboxStatus.IN_FLIGHT);
+                message.setLeaseExpiresAt(leaseExpiresAt);
+            });
+            return batch;
+        });
+    }
+
+    // Chạy ngoài transaction; trả về lỗi theo id thư
+    private Map<Long, Exception> send(List<OutboxMessage> batch) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, OutboxMessage> messages = new LinkedHashMap<>();
+        for (OutboxMessage message : batch) {
+            try {
+                messages.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                failures.put(message.getId(), e);
+            }
+        }
+        if (messages.isEmpty()) return failures;
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((mimeMessage, error) -> {
+                OutboxMessage message = messages.get(mimeMessage);
+                if (message != null) failures.put(message.getId(), error);
+            });
+        } catch (MailException e) {
+            // Không kết nối/xác thực được: cả lô coi như lỗi
+            log.warn("Không gửi được lô thư: {}", e.getMessage());
+            messages.values().forEach(message -> failures.put(message.getId(), e));
+        }
+        return failures;
+    }
+
+    private void record(List<OutboxMessage> batch, Map<Long, Exception> failures) {
+        List<Long> ids = batch.stream().map(OutboxMessage::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxMessage message : outboxMessageRepository.findAllById(ids)) {
+                message.setLeaseExpiresAt(null);
+                Exception error = failures.get(message.getId());
+                if (error != null) {
+                    markFailed(message, error);
+                } else {
+                    message.setStatus(OutboxStatus.SENT);
+                    message.setAttempts(message.getAttempts() + 1);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                }
+            }
+        });
+    }
+
+    private MimeMessage toMimeMessage(OutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), false);
+        return mimeMessage;
+    }
+
+    private void markFailed(OutboxMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error.getMessage());
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            log.error("Bỏ thư outbox {} sau {} lần thử: {}", message.getId(), attempts, error.getMessage());
+            return;
+        }
+        long delay = Math.min(backoffBaseSeconds << Math.min(attempts - 1, 20), backoffMaxSeconds);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+    }
+}
@@ -0,0 +1,27 @@
+package ra.edu.mapper;
+
+import ra.edu.dto.response.BookingResponse;
+import ra.edu.entity.Booking;
+
+public class BookingMapper {
+    public static BookingResponse toResponse(Booking booking) {
+        if (booking == null) return null;
+
+        return new BookingResponse(
+                booking.getBookingId(),
+                booking.getRoom().getRoomId(),
+                booking.getRoom().getRoomType(),
+                booking.getRoom().getHotel() != null ? booking.getRoom().getHotel().getHotelId() : null,
+                booking.getRoom().getHotel() != null ? booking.getRoom().getHotel().getHotelName() : null,
+                booking.getUser().getUserId(),
+                booking.getCheckIn(),
+                booking.getCheckOut(),
+                booking.getTotalPrice(),
+                booking.getStatus() != null ? booking.getStatus().name() : null,
+                booking.getAdultsCount(),
+                booking.getChildrenCount(),
+                booking.getInfantsCount(),
+                booking.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package ra.edu.mapper;
+
+import ra.edu.dto.response.CommentResponse;
+import ra.edu.entity.Comment;
+
+public class CommentMapper {
+    public static CommentResponse toResponse(Comment comment) {
+        if (comment == null) return null;
+
+        return new CommentResponse(
+                comment.getCommentId(),
+                comment.getReview().getReviewId(),
+                comment.getUser().getUserId(),
+                comment.getUser().getFullName(),
+                comment.getComment(),
+                comment.getCreatedAt()
+        );
+    }
+}
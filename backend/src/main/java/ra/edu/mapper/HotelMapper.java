@@ -0,0 +1,24 @@
+package ra.edu.mapper;
+
+import ra.edu.dto.projection.HotelRow;
+import ra.edu.dto.response.HotelResponse;
+
+import java.util.List;
+
+public class HotelMapper {
+    public static HotelResponse toResponse(HotelRow row, List<String> imageUrls) {
+        if (row == null) return null;
+
+        return new HotelResponse(
+                row.getHotelId(),
+                row.getHotelName(),
+                row.getAddress(),
+                row.getCity(),
+                row.getCountry(),
+                row.getDescription(),
+                imageUrls,
+                row.getRoomCount() != null ? row.getRoomCount().intValue() : 0,
+                row.getMinPrice()
+        );
+    }
+}
@@ -15,7 +15,8 @@ public class ReviewMapper {
                 review.getUser().getFullName(),
                 review.getRating(),
                 review.getComment(),
-                review.getCreatedAt()
+                review.getCreatedAt(),
+                review.getReplyCount()
         );
     }
 }
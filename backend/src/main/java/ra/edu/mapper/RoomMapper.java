@@ -1,7 +1,9 @@
 package ra.edu.mapper;
 
+import ra.edu.dto.projection.RoomRow;
 import ra.edu.dto.response.RoomResponse;
 import ra.edu.entity.Room;
+import ra.edu.entity.RoomRatingSummary;
 
 import java.util.List;
 
@@ -15,6 +17,57 @@ public class RoomMapper {
                 .toList()
                 : List.of();
 
+        return toResponse(room, imageUrls, avgRating, reviewCount);
+    }
+
+    public static RoomResponse toResponse(Room room, RoomRatingSummary summary) {
+        if (summary == null) return toResponse(room, null, 0);
+        return toResponse(room, summary.getAverageRating(), summary.getReviewCount());
+    }
+
+    // Dùng khi ảnh đã được nạp riêng theo lô, không chạm vào room.getImages()
+    public static RoomResponse toResponse(Room room, List<String> imageUrls, RoomRatingSummary summary) {
+        if (summary == null) return toResponse(room, imageUrls, null, 0);
+        return toResponse(room, imageUrls, summary.getAverageRating(), summary.getReviewCount());
+    }
+
+    public static RoomResponse toResponse(RoomRow row, List<String> imageUrls) {
+        if (row == null) return null;
+        int reviewCount = row.getReviewCount() != null ? row.getReviewCount() : 0;
+        Double avgRating = reviewCount > 0 ? row.getRatingSum().doubleValue() / reviewCount : null;
+
+        return new RoomResponse(
+                row.getRoomId(),
+                row.getRoomType(),
+                row.getPrice(),
+                row.getCapacity(),
+                row.getDescription(),
+                imageUrls,
+                row.getHotelId(),
+                row.getHotelName(),
+                row.getAddress(),
+                avgRating,
+                reviewCount
+        );
+    }
+
+    public static RoomResponse withImageUrls(RoomResponse room, List<String> imageUrls) {
+        return new RoomResponse(
+                room.getRoomId(),
+                room.getRoomType(),
+                room.getPrice(),
+                room.getCapacity(),
+                room.getDescription(),
+                imageUrls,
+                room.getHotelId(),
+                room.getHotelName(),
+                room.getAddress(),
+                room.getRating(),
+                room.getReviewCount()
+        );
+    }
+
+    private static RoomResponse toResponse(Room room, List<String> imageUrls, Double avgRating, Integer reviewCount) {
         return new RoomResponse(
                 room.getRoomId(),
                 room.getRoomType(),
@@ -0,0 +1,81 @@
+package ra.edu.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Đo thời gian xử lý, số câu SQL và số dòng đọc được theo từng method của controller
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql_statement_budget:20}")
+    private int statementBudget;
+
+    // Số dòng chỉ đếm được khi RowCountingDataSource được bật
+    @Value("${sql_row_counting:false}")
+    private boolean rowCounting;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestSqlStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStatistics.Counters counters = RequestSqlStatistics.stop();
+            String handler = handlerName(request);
+
+            Timer.builder("request.handler.duration")
+                    .tag("handler", handler)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("request.sql.statements")
+                    .tag("handler", handler)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(counters.getStatements());
+            if (rowCounting) {
+                DistributionSummary.builder("request.sql.rows")
+                        .tag("handler", handler)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry)
+                        .record(counters.getRows());
+            }
+
+            if (counters.getStatements() > statementBudget) {
+                log.warn("{} {} ({}) chạy {} câu SQL, đọc {} dòng, vượt ngưỡng {}",
+                        request.getMethod(), request.getRequestURI(), handler,
+                        counters.getStatements(), counters.getRows(), statementBudget);
+            }
+        }
+    }
+
+    private String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "unmapped";
+    }
+}
@@ -0,0 +1,41 @@
+package ra.edu.metrics;
+
+import lombok.Getter;
+
+// Đếm số câu SQL và số dòng đọc được trong phạm vi một request (theo luồng xử lý request)
+public final class RequestSqlStatistics {
+    private static final ThreadLocal<Counters> CURRENT = new ThreadLocal<>();
+
+    private RequestSqlStatistics() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Counters());
+    }
+
+    public static Counters stop() {
+        Counters counters = CURRENT.get();
+        CURRENT.remove();
+        return counters;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static void statementPrepared() {
+        Counters counters = CURRENT.get();
+        if (counters != null) counters.statements++;
+    }
+
+    public static void rowFetched() {
+        Counters counters = CURRENT.get();
+        if (counters != null) counters.rows++;
+    }
+
+    @Getter
+    public static class Counters {
+        private int statements;
+        private long rows;
+    }
+}
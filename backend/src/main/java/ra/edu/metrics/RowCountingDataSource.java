@@ -0,0 +1,66 @@
+package ra.edu.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Set;
+
+// Bọc Connection/Statement/ResultSet để đếm ResultSet.next() trong request đang được đo
+public class RowCountingDataSource extends DelegatingDataSource {
+    private static final Set<Class<?>> WRAPPED_TYPES = Set.of(
+            Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+    public RowCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    // Job nền không cần đếm nên trả về connection gốc
+    private Connection wrapConnection(Connection connection) {
+        if (!RequestSqlStatistics.isActive()) return connection;
+        return wrap(connection, Connection.class);
+    }
+
+    private static <T> T wrap(T target, Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(
+                RowCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type},
+                new CountingHandler(target)));
+    }
+
+    private record CountingHandler(Object target) implements InvocationHandler {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (target instanceof ResultSet && Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                RequestSqlStatistics.rowFetched();
+            }
+            Class<?> returnType = method.getReturnType();
+            if (result != null && WRAPPED_TYPES.contains(returnType)) {
+                return wrap(result, (Class<Object>) returnType);
+            }
+            return result;
+        }
+    }
+}
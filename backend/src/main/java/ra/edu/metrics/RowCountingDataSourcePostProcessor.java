@@ -0,0 +1,20 @@
+package ra.edu.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Proxy gọi qua reflection mọi lệnh JDBC kể cả ResultSet.next(), chỉ bật khi cần đo số dòng (sql_row_counting=true)
+@Component
+@ConditionalOnProperty(name = "sql_row_counting", havingValue = "true")
+public class RowCountingDataSourcePostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof RowCountingDataSource)) {
+            return new RowCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,12 @@
+package ra.edu.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Đăng ký qua hibernate.session_factory.statement_inspector, Hibernate gọi trước mỗi câu SQL
+public class SqlStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStatistics.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,36 @@
+package ra.edu.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ra.edu.dto.projection.BookingInterval;
+import ra.edu.entity.Booking;
+import ra.edu.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingRepository extends JpaRepository<Booking, Integer> {
+    @Query("SELECT b.bookingId AS bookingId, b.room.roomId AS roomId, b.checkIn AS checkIn, " +
+            "b.checkOut AS checkOut, b.status AS status " +
+            "FROM Booking b WHERE b.status IN :statuses AND b.checkOut > :from")
+    List<BookingInterval> findIntervals(@Param("statuses") Collection<BookingStatus> statuses,
+                                        @Param("from") LocalDate from);
+
+    @Query("SELECT b.bookingId AS bookingId, b.room.roomId AS roomId, b.checkIn AS checkIn, " +
+            "b.checkOut AS checkOut, b.status AS status " +
+            "FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<BookingInterval> findIntervalById(@Param("bookingId") Integer bookingId);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.room.roomId = :roomId AND b.status IN :statuses " +
+            "AND b.checkIn < :checkOut AND b.checkOut > :checkIn")
+    boolean existsOverlapping(@Param("roomId") Integer roomId,
+                              @Param("checkIn") LocalDate checkIn,
+                              @Param("checkOut") LocalDate checkOut,
+                              @Param("statuses") Collection<BookingStatus> statuses);
+
+    List<Booking> findByUser_UserIdOrderByCreatedAtDesc(Integer userId);
+}
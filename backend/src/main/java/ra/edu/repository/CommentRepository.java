@@ -0,0 +1,50 @@
+package ra.edu.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ra.edu.dto.response.CommentResponse;
+import ra.edu.entity.Comment;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CommentRepository extends JpaRepository<Comment, Integer> {
+    // Luồng phản hồi đọc từ cũ đến mới, keyset theo (createdAt, commentId)
+    @Query("SELECT new ra.edu.dto.response.CommentResponse(" +
+            "c.commentId, r.reviewId, u.userId, u.fullName, c.comment, c.createdAt) " +
+            "FROM Comment c JOIN c.review r JOIN c.user u " +
+            "WHERE r.reviewId = :reviewId " +
+            "ORDER BY c.createdAt, c.commentId")
+    List<CommentResponse> findThreadByReviewId(@Param("reviewId") Integer reviewId, Limit limit);
+
+    @Query("SELECT new ra.edu.dto.response.CommentResponse(" +
+            "c.commentId, r.reviewId, u.userId, u.fullName, c.comment, c.createdAt) " +
+            "FROM Comment c JOIN c.review r JOIN c.user u " +
+            "WHERE r.reviewId = :reviewId " +
+            "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.commentId > :commentId)) " +
+            "ORDER BY c.createdAt, c.commentId")
+    List<CommentResponse> findThreadByReviewIdAfter(@Param("reviewId") Integer reviewId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("commentId") Integer commentId,
+                                                    Limit limit);
+
+    // N phản hồi đầu của mỗi review trong một truy vấn, ROW_NUMBER chạy trên idx_comments_review_created
+    @Query(value = "SELECT t.comment_id FROM (" +
+            "SELECT c.comment_id, ROW_NUMBER() OVER (" +
+            "PARTITION BY c.review_id ORDER BY c.created_at, c.comment_id) AS rn " +
+            "FROM comments c WHERE c.review_id IN (:reviewIds)) t " +
+            "WHERE t.rn <= :perReview",
+            nativeQuery = true)
+    List<Integer> findTopReplyIds(@Param("reviewIds") Collection<Integer> reviewIds,
+                                  @Param("perReview") int perReview);
+
+    @Query("SELECT new ra.edu.dto.response.CommentResponse(" +
+            "c.commentId, r.reviewId, u.userId, u.fullName, c.comment, c.createdAt) " +
+            "FROM Comment c JOIN c.review r JOIN c.user u " +
+            "WHERE c.commentId IN :commentIds " +
+            "ORDER BY r.reviewId, c.createdAt, c.commentId")
+    List<CommentResponse> findResponsesByCommentIdIn(@Param("commentIds") Collection<Integer> commentIds);
+}
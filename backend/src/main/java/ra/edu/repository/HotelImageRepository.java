@@ -0,0 +1,16 @@
+package ra.edu.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ra.edu.dto.projection.HotelImageUrl;
+import ra.edu.entity.HotelImage;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface HotelImageRepository extends JpaRepository<HotelImage, Integer> {
+    @Query("SELECT i.hotel.hotelId AS hotelId, i.imageUrl AS imageUrl FROM HotelImage i " +
+            "WHERE i.hotel.hotelId IN :hotelIds ORDER BY i.imageId")
+    List<HotelImageUrl> findImageUrlsByHotelIdIn(@Param("hotelIds") Collection<Integer> hotelIds);
+}
@@ -0,0 +1,42 @@
+package ra.edu.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ra.edu.dto.projection.HotelLocation;
+import ra.edu.dto.projection.HotelRow;
+import ra.edu.entity.Hotel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HotelRepository extends JpaRepository<Hotel, Integer> {
+    // Phân trang trên id, lọc theo thành phố/quốc gia nếu có
+    @Query(value = "SELECT h.hotelId FROM Hotel h " +
+            "WHERE (:city IS NULL OR h.city = :city) AND (:country IS NULL OR h.country = :country)",
+            countQuery = "SELECT COUNT(h) FROM Hotel h " +
+                    "WHERE (:city IS NULL OR h.city = :city) AND (:country IS NULL OR h.country = :country)")
+    Page<Integer> findHotelIds(@Param("city") String city, @Param("country") String country, Pageable pageable);
+
+    @Query("SELECT new ra.edu.dto.projection.HotelRow(" +
+            "h.hotelId, h.hotelName, h.address, h.city, h.country, h.description, COUNT(r), MIN(r.price)) " +
+            "FROM Hotel h LEFT JOIN h.rooms r " +
+            "WHERE h.hotelId IN :hotelIds GROUP BY h.hotelId")
+    List<HotelRow> findRowsByHotelIdIn(@Param("hotelIds") Collection<Integer> hotelIds);
+
+    @Query("SELECT new ra.edu.dto.projection.HotelRow(" +
+            "h.hotelId, h.hotelName, h.address, h.city, h.country, h.description, COUNT(r), MIN(r.price)) " +
+            "FROM Hotel h LEFT JOIN h.rooms r " +
+            "WHERE h.hotelId = :hotelId GROUP BY h.hotelId")
+    Optional<HotelRow> findRowByHotelId(@Param("hotelId") Integer hotelId);
+
+    // Dữ liệu cho bộ đếm facet trong bộ nhớ
+    @Query("SELECT h.hotelId AS hotelId, h.city AS city, h.country AS country FROM Hotel h")
+    List<HotelLocation> findLocations();
+
+    @Query("SELECT h.hotelId AS hotelId, h.city AS city, h.country AS country FROM Hotel h WHERE h.hotelId = :hotelId")
+    Optional<HotelLocation> findLocationByHotelId(@Param("hotelId") Integer hotelId);
+}
@@ -0,0 +1,25 @@
+package ra.edu.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ra.edu.entity.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    // SKIP LOCKED: nhiều instance cùng chạy dispatcher sẽ nhận các lô khác nhau, không chờ nhau
+    @Query(value = "SELECT * FROM outbox_messages " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxMessage> claimBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Dispatcher chết hoặc treo giữa lúc gửi: trả thư về hàng chờ để gửi lại (at-least-once)
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = ra.edu.enums.OutboxStatus.PENDING, m.leaseExpiresAt = null " +
+            "WHERE m.status = ra.edu.enums.OutboxStatus.IN_FLIGHT AND m.leaseExpiresAt <= :now")
+    int releaseExpiredLeases(@Param("now") LocalDateTime now);
+}
@@ -1,10 +1,17 @@
 package ra.edu.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ra.edu.dto.response.ReviewResponse;
 import ra.edu.entity.Review;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Integer> {
@@ -18,9 +25,45 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
 
     Review findByUser_UserIdAndRoom_RoomId(Integer userId, Integer roomId);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.room.roomId = :roomId")
-    Double findAverageRatingByRoomId(@Param("roomId") Integer roomId);
+    // Chỉ chọn các cột của ReviewResponse, không nạp Room/User vào persistence context
+    @Query("SELECT new ra.edu.dto.response.ReviewResponse(" +
+            "r.reviewId, ro.roomId, ro.roomType, u.userId, u.fullName, r.rating, r.comment, r.createdAt, r.replyCount) " +
+            "FROM Review r JOIN r.room ro JOIN r.user u " +
+            "WHERE ro.roomId = :roomId " +
+            "ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<ReviewResponse> findFeedByRoomId(@Param("roomId") Integer roomId, Limit limit);
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.room.roomId = :roomId")
-    Integer countByRoomId(@Param("roomId") Integer roomId);
+    @Query("SELECT new ra.edu.dto.response.ReviewResponse(" +
+            "r.reviewId, ro.roomId, ro.roomType, u.userId, u.fullName, r.rating, r.comment, r.createdAt, r.replyCount) " +
+            "FROM Review r JOIN r.room ro JOIN r.user u " +
+            "WHERE ro.roomId = :roomId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.reviewId < :reviewId)) " +
+            "ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<ReviewResponse> findFeedByRoomIdBefore(@Param("roomId") Integer roomId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("reviewId") Integer reviewId,
+                                                Limit limit);
+
+    // Body còn chứa tên người viết và loại phòng nên mốc cập nhật của users/rooms cũng nằm trong phiên bản
+    @Query(value = "SELECT CONCAT_WS(':', COUNT(*), COALESCE(MAX(r.created_at), ''), COALESCE(MAX(r.review_id), ''), " +
+            "COALESCE(SUM(r.reply_count), 0), COALESCE(MAX(u.updated_at), ''), " +
+            "COALESCE((SELECT ro.updated_at FROM rooms ro WHERE ro.room_id = :roomId), '')) " +
+            "FROM reviews r LEFT JOIN users u ON u.user_id = r.user_id WHERE r.room_id = :roomId",
+            nativeQuery = true)
+    String findRoomReviewsVersion(@Param("roomId") Integer roomId);
+
+    @Modifying
+    @Query("UPDATE Review r SET r.replyCount = r.replyCount + 1 WHERE r.reviewId = :reviewId")
+    int incrementReplyCount(@Param("reviewId") Integer reviewId);
+
+    // Đồng bộ reply_count với bảng comments, chỉ ghi những dòng bị lệch (cột mới thêm có sẵn 0, comment xóa ngoài luồng)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reviews"))
+    @Query(value = "UPDATE reviews r " +
+            "JOIN (SELECT rv.review_id, COUNT(c.comment_id) AS replies FROM reviews rv " +
+            "LEFT JOIN comments c ON c.review_id = rv.review_id GROUP BY rv.review_id) t " +
+            "ON t.review_id = r.review_id " +
+            "SET r.reply_count = t.replies WHERE r.reply_count <> t.replies",
+            nativeQuery = true)
+    int rebuildReplyCounts();
 }
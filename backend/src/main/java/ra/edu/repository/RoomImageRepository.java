@@ -0,0 +1,16 @@
+package ra.edu.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ra.edu.dto.projection.RoomImageUrl;
+import ra.edu.entity.RoomImage;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RoomImageRepository extends JpaRepository<RoomImage, Integer> {
+    @Query("SELECT i.room.roomId AS roomId, i.imageUrl AS imageUrl FROM RoomImage i " +
+            "WHERE i.room.roomId IN :roomIds ORDER BY i.imageId")
+    List<RoomImageUrl> findImageUrlsByRoomIdIn(@Param("roomIds") Collection<Integer> roomIds);
+}
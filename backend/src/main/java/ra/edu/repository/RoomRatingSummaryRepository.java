@@ -0,0 +1,45 @@
+package ra.edu.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ra.edu.entity.RoomRatingSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+// Khai báo bảng bị ghi cho native query, nếu không Hibernate sẽ xóa toàn bộ second-level cache mỗi lần cộng điểm
+public interface RoomRatingSummaryRepository extends JpaRepository<RoomRatingSummary, Integer> {
+    List<RoomRatingSummary> findByRoomIdIn(Collection<Integer> roomIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_rating_summaries"))
+    @Query(value = "INSERT INTO room_rating_summaries (room_id, rating_sum, review_count, updated_at) " +
+            "VALUES (:roomId, :rating, 1, NOW(6)) " +
+            "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + :rating, " +
+            "review_count = review_count + 1, updated_at = NOW(6)",
+            nativeQuery = true)
+    int addRating(@Param("roomId") Integer roomId, @Param("rating") Integer rating);
+
+    // Phòng không còn review nào thì upsert bên dưới không chạm tới, phải xóa dòng tổng hợp cũ trước
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_rating_summaries"))
+    @Query(value = "DELETE FROM room_rating_summaries WHERE NOT EXISTS (" +
+            "SELECT 1 FROM reviews r WHERE r.room_id = room_rating_summaries.room_id AND r.rating IS NOT NULL)",
+            nativeQuery = true)
+    int deleteWithoutReviews();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_rating_summaries"))
+    @Query(value = "INSERT INTO room_rating_summaries (room_id, rating_sum, review_count, updated_at) " +
+            "SELECT room_id, SUM(rating), COUNT(*), NOW(6) FROM reviews " +
+            "WHERE room_id IS NOT NULL AND rating IS NOT NULL GROUP BY room_id " +
+            "ON DUPLICATE KEY UPDATE rating_sum = VALUES(rating_sum), " +
+            "review_count = VALUES(review_count), updated_at = NOW(6)",
+            nativeQuery = true)
+    int rebuildFromReviews();
+}
@@ -0,0 +1,33 @@
+package ra.edu.repository;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import ra.edu.dto.projection.RoomRow;
+import ra.edu.entity.Room;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Read model cho RoomResponse: chỉ đọc cột cần thiết, không nạp entity nên không có dirty checking
+public interface RoomReadRepository extends Repository<Room, Integer> {
+    String SELECT_ROW = "SELECT new ra.edu.dto.projection.RoomRow(" +
+            "r.roomId, r.roomType, r.price, r.capacity, r.description, " +
+            "h.hotelId, h.hotelName, h.address, s.ratingSum, s.reviewCount) " +
+            "FROM Room r " +
+            "LEFT JOIN r.hotel h " +
+            "LEFT JOIN RoomRatingSummary s ON s.roomId = r.roomId ";
+
+    @Query(SELECT_ROW + "ORDER BY r.roomId")
+    List<RoomRow> findAllRows();
+
+    @Query(SELECT_ROW + "WHERE h.hotelId = :hotelId ORDER BY r.roomId")
+    List<RoomRow> findRowsByHotelId(@Param("hotelId") Integer hotelId);
+
+    @Query(SELECT_ROW + "WHERE r.roomId = :roomId")
+    Optional<RoomRow> findRowByRoomId(@Param("roomId") Integer roomId);
+
+    @Query(SELECT_ROW + "WHERE r.roomId IN :roomIds")
+    List<RoomRow> findRowsByRoomIdIn(@Param("roomIds") Collection<Integer> roomIds);
+}
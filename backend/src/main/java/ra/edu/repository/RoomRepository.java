@@ -1,34 +1,112 @@
 package ra.edu.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ra.edu.dto.projection.RoomHotelId;
+import ra.edu.dto.projection.RoomSearchDocument;
 import ra.edu.entity.Room;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RoomRepository extends JpaRepository<Room, Integer> {
-    @Query("SELECT DISTINCT r FROM Room r " +
-            "LEFT JOIN FETCH r.images " +
-            "LEFT JOIN FETCH r.hotel")
-    List<Room> findAll();
-
-    @Query("SELECT DISTINCT r FROM Room r " +
-            "LEFT JOIN FETCH r.images " +
-            "LEFT JOIN FETCH r.hotel " +
-            "WHERE r.hotel.hotelId = :hotelId")
-    List<Room> findByHotel_HotelId(@Param("hotelId") Integer hotelId);
-
-    @Query("SELECT DISTINCT r FROM Room r " +
-            "LEFT JOIN FETCH r.images " +
-            "LEFT JOIN FETCH r.hotel " +
-            "WHERE LOWER(r.roomType) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Room> findByRoomTypeContainingIgnoreCase(@Param("keyword") String keyword);
-
+    // Query cache giữ id phòng, Room/Hotel/ảnh lấy từ second-level cache; tự mất hiệu lực khi các bảng này đổi.
+    // Hotel.owner là LAZY nên lần gọi lặp lại không gửi câu SQL nào
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT r FROM Room r " +
             "LEFT JOIN FETCH r.images " +
             "LEFT JOIN FETCH r.hotel " +
             "WHERE r.roomId = :roomId")
     Optional<Room> findByRoomId(@Param("roomId") Integer roomId);
+
+    // Đọc dần theo fetch size (cần useCursorFetch=true), ảnh được nạp theo từng lô ở service
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Room r " +
+            "JOIN FETCH r.hotel h " +
+            "LEFT JOIN FETCH h.owner " +
+            "ORDER BY r.roomId")
+    Stream<Room> streamAll();
+
+    // Khóa dòng phòng để các booking trùng phòng chạy tuần tự, kể cả khi chạy nhiều instance
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.roomId = :roomId")
+    Optional<Room> findByIdForUpdate(@Param("roomId") Integer roomId);
+
+    // Phân trang trên id trước, sau đó mới fetch ảnh + khách sạn cho các id của trang
+    @Query(value = "SELECT r.roomId FROM Room r",
+            countQuery = "SELECT COUNT(r) FROM Room r")
+    Page<Integer> findRoomIds(Pageable pageable);
+
+    @Query(value = "SELECT r.roomId FROM Room r WHERE r.hotel.hotelId = :hotelId",
+            countQuery = "SELECT COUNT(r) FROM Room r WHERE r.hotel.hotelId = :hotelId")
+    Page<Integer> findRoomIdsByHotelId(@Param("hotelId") Integer hotelId, Pageable pageable);
+
+    @Query("SELECT r.roomId FROM Room r WHERE r.roomId > :cursor ORDER BY r.roomId")
+    List<Integer> findRoomIdsAfter(@Param("cursor") Integer cursor, Limit limit);
+
+    @Query("SELECT r.roomId FROM Room r WHERE r.hotel.hotelId = :hotelId AND r.roomId > :cursor ORDER BY r.roomId")
+    List<Integer> findRoomIdsByHotelIdAfter(@Param("hotelId") Integer hotelId, @Param("cursor") Integer cursor, Limit limit);
+
+    @Query("SELECT r.roomId FROM Room r WHERE r.capacity >= :guests ORDER BY r.roomId")
+    List<Integer> findRoomIdsByMinCapacity(@Param("guests") Integer guests);
+
+    @Query("SELECT r.roomId FROM Room r WHERE r.hotel.hotelId = :hotelId AND r.capacity >= :guests ORDER BY r.roomId")
+    List<Integer> findRoomIdsByHotelIdAndMinCapacity(@Param("hotelId") Integer hotelId, @Param("guests") Integer guests);
+
+    @Query("SELECT r.roomId AS roomId, r.hotel.hotelId AS hotelId FROM Room r")
+    List<RoomHotelId> findRoomHotelIds();
+
+    // Dữ liệu cho chỉ mục tìm kiếm trong bộ nhớ
+    @Query("SELECT r.roomId AS roomId, r.roomType AS roomType, r.description AS description, " +
+            "h.hotelName AS hotelName, h.city AS city, h.country AS country " +
+            "FROM Room r LEFT JOIN r.hotel h")
+    List<RoomSearchDocument> findSearchDocuments();
+
+    @Query("SELECT r.roomId AS roomId, r.roomType AS roomType, r.description AS description, " +
+            "h.hotelName AS hotelName, h.city AS city, h.country AS country " +
+            "FROM Room r LEFT JOIN r.hotel h WHERE r.roomId = :roomId")
+    Optional<RoomSearchDocument> findSearchDocumentByRoomId(@Param("roomId") Integer roomId);
+
+    @Query("SELECT r.roomId AS roomId, r.roomType AS roomType, r.description AS description, " +
+            "h.hotelName AS hotelName, h.city AS city, h.country AS country " +
+            "FROM Room r JOIN r.hotel h WHERE h.hotelId = :hotelId")
+    List<RoomSearchDocument> findSearchDocumentsByHotelId(@Param("hotelId") Integer hotelId);
+
+    // Tín hiệu phiên bản rẻ cho ETag: số dòng + mốc cập nhật mới nhất, không nạp entity nào
+    @Query(value = "SELECT CONCAT_WS(':', " +
+            "(SELECT COUNT(*) FROM rooms), " +
+            "COALESCE((SELECT MAX(updated_at) FROM rooms), ''), " +
+            "COALESCE((SELECT MAX(updated_at) FROM hotels), ''), " +
+            "(SELECT COUNT(*) FROM room_images), " +
+            "COALESCE((SELECT MAX(image_id) FROM room_images), ''), " +
+            "(SELECT COALESCE(SUM(review_count), 0) FROM room_rating_summaries), " +
+            "COALESCE((SELECT MAX(updated_at) FROM room_rating_summaries), ''))",
+            nativeQuery = true)
+    String findCatalogVersion();
+
+    @Query(value = "SELECT CONCAT_WS(':', r.updated_at, " +
+            "COALESCE(h.updated_at, ''), " +
+            "(SELECT COUNT(*) FROM room_images i WHERE i.room_id = r.room_id), " +
+            "COALESCE((SELECT MAX(i.image_id) FROM room_images i WHERE i.room_id = r.room_id), ''), " +
+            "COALESCE(s.review_count, 0), " +
+            "COALESCE(s.updated_at, '')) " +
+            "FROM rooms r " +
+            "LEFT JOIN hotels h ON h.hotel_id = r.hotel_id " +
+            "LEFT JOIN room_rating_summaries s ON s.room_id = r.room_id " +
+            "WHERE r.room_id = :roomId",
+            nativeQuery = true)
+    Optional<String> findRoomVersion(@Param("roomId") Integer roomId);
 }
@@ -9,9 +9,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ra.edu.security.principal.PrincipalCache;
 
 import java.io.IOException;
 
@@ -20,16 +21,22 @@ public class JWTAuthFilter extends OncePerRequestFilter {
     @Autowired
     private JWTProvider jwtProvider;
     @Autowired
-    UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = getTokenFromRequest(request);
-        if(token!=null && jwtProvider.validateToken(token)){
-            String username = jwtProvider.getUsernameFromToken(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            Authentication authen =  new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authen);
+        String username = token != null ? jwtProvider.parseUsername(token) : null;
+        if(username != null){
+            try {
+                UserDetails userDetails = principalCache.get(username);
+                if (userDetails.isEnabled()) {
+                    Authentication authen =  new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authen);
+                }
+            } catch (UsernameNotFoundException e) {
+                // User đã bị xóa: coi như request chưa đăng nhập
+            }
         }
         filterChain.doFilter(request,response);
     }
@@ -41,4 +48,4 @@ public class JWTAuthFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package ra.edu.security.jwt;
 
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.impl.TextCodec;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,20 +21,36 @@ public class JWTProvider {
     @Value("${jwt_refresh}")
     private int jwtRefresh;
 
+    // Giải mã secret một lần thay vì mỗi lần ký/kiểm tra token
+    private byte[] signingKey;
+
+    @PostConstruct
+    public void init() {
+        signingKey = TextCodec.BASE64.decode(jwtSecret);
+    }
+
     public String generateToken(String username){
         Date now = new Date();
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(new Date(now.getTime() + jwtExpire))
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
     public boolean validateToken(String token){
+        return parseUsername(token) != null;
+    }
+
+    public String getUsernameFromToken(String token){
+        return Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody().getSubject();
+    }
+
+    // Kiểm tra chữ ký và lấy username trong một lần parse, trả về null nếu token không hợp lệ
+    public String parseUsername(String token){
         try{
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
-            return true;
+            return getUsernameFromToken(token);
         }catch (ExpiredJwtException e){
             log.error("Token JWT đã hết hạn!");
         }catch (UnsupportedJwtException e){
@@ -44,10 +62,6 @@ public class JWTProvider {
         }catch (IllegalArgumentException e){
             log.error("Tham số token JWT không hợp lệ!");
         }
-        return false;
-    }
-
-    public String getUsernameFromToken(String token){
-        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
+        return null;
     }
-}
\ No newline at end of file
+}
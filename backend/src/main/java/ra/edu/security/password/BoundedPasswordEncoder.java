@@ -0,0 +1,104 @@
+package ra.edu.security.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import ra.edu.exception.TooManyRequestsException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// BCrypt chạy trên một pool riêng có giới hạn: đợt đăng nhập dồn dập không chiếm hết CPU của các request đọc,
+// hàng đợi đầy thì trả 429 ngay thay vì xếp hàng vô hạn
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bcrypt_strength:10}")
+    private int strength;
+    @Value("${bcrypt_threads:0}")
+    private int threads;
+    @Value("${bcrypt_queue_capacity:100}")
+    private int queueCapacity;
+
+    private BCryptPasswordEncoder delegate;
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        delegate = new BCryptPasswordEncoder(strength);
+        // Mặc định dùng một nửa số CPU
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        encodeTimer = Timer.builder("password.hash.duration").tag("operation", "encode")
+                .publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+        matchesTimer = Timer.builder("password.hash.duration").tag("operation", "matches")
+                .publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+        rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    // Hash cũ có cost thấp hơn bcrypt_strength sẽ được DaoAuthenticationProvider băm lại sau khi đăng nhập thành công
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Hệ thống đang xử lý quá nhiều yêu cầu đăng nhập, vui lòng thử lại sau");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bị gián đoạn khi băm mật khẩu", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package ra.edu.security.principal;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,10 +14,16 @@ import ra.edu.repository.UserRepository;
 import java.util.List;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
     @Autowired
     private UserRepository userRepository;
 
+    // Bảng users không có cột vai trò: quyền quản trị cấp theo danh sách email cấu hình
+    @Value("${admin_emails:}")
+    private List<String> adminEmails;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("Không tồn tại username"));
@@ -26,6 +34,24 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .password(user.getPassword())
                 .email(user.getEmail())
                 .status(user.isStatus())
+                .authorities(isAdmin(user.getEmail()) ? List.of(new SimpleGrantedAuthority(ROLE_ADMIN)) : List.of())
                 .build();
     }
-}
\ No newline at end of file
+
+    private boolean isAdmin(String email) {
+        return email != null && adminEmails.stream().anyMatch(admin -> admin.trim().equalsIgnoreCase(email));
+    }
+
+    // Được gọi sau khi đăng nhập thành công với hash có cost thấp hơn cấu hình hiện tại
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByEmail(user.getUsername()).ifPresent(entity -> {
+            entity.setPassword(newPassword);
+            userRepository.save(entity);
+        });
+        if (user instanceof CustomUserDetails customUserDetails) {
+            customUserDetails.setPassword(newPassword);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,69 @@
+package ra.edu.security.principal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ra.edu.event.UserChangedEvent;
+
+import java.time.Duration;
+
+// Cache user đã xác thực theo subject của JWT để request không phải query bảng users mỗi lần
+@Component
+public class PrincipalCache {
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Value("${principal_cache_max_size:10000}")
+    private long maxSize;
+    @Value("${principal_cache_ttl_seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String username) {
+        return cache.get(username, this::load);
+    }
+
+    public void evict(String username) {
+        if (username != null) cache.invalidate(username);
+    }
+
+    public Cache<String, UserDetails> getCache() {
+        return cache;
+    }
+
+    // Cập nhật hồ sơ / khóa tài khoản đều đi qua entity User nên chỉ cần nghe sự kiện này
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getEmail());
+    }
+
+    // Không giữ mật khẩu trong cache
+    private UserDetails load(String username) {
+        UserDetails loaded = userDetailsService.loadUserByUsername(username);
+        if (!(loaded instanceof CustomUserDetails user)) return loaded;
+        return CustomUserDetails.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .phone(user.getPhone())
+                .status(user.getStatus())
+                .authorities(user.getAuthorities())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package ra.edu.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AvailabilityService {
+    boolean isAvailable(Integer roomId, LocalDate checkIn, LocalDate checkOut);
+    List<Integer> filterAvailable(Collection<Integer> roomIds, LocalDate checkIn, LocalDate checkOut);
+    void refreshBooking(Integer bookingId);
+    void removeBooking(Integer bookingId);
+    void rebuild();
+}
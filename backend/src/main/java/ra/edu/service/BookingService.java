@@ -0,0 +1,13 @@
+package ra.edu.service;
+
+import ra.edu.dto.request.BookingRequest;
+import ra.edu.dto.response.BookingResponse;
+
+import java.util.List;
+
+public interface BookingService {
+    BookingResponse createBooking(Integer userId, BookingRequest request);
+    BookingResponse cancelBooking(Integer userId, Integer bookingId);
+    BookingResponse getBooking(Integer userId, Integer bookingId);
+    List<BookingResponse> getBookingsByUserId(Integer userId);
+}
@@ -0,0 +1,10 @@
+package ra.edu.service;
+
+import ra.edu.dto.response.CatalogImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CatalogImportService {
+    CatalogImportResponse importCatalog(Integer ownerId, InputStream input) throws IOException;
+}
@@ -0,0 +1,16 @@
+package ra.edu.service;
+
+import ra.edu.dto.request.CommentRequest;
+import ra.edu.dto.response.CommentResponse;
+import ra.edu.dto.response.CursorData;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CommentService {
+    CommentResponse createComment(Integer userId, Integer reviewId, CommentRequest request);
+    CursorData<CommentResponse> getCommentsByReviewId(Integer reviewId, String cursor, int size);
+    Map<Integer, List<CommentResponse>> getTopReplies(Collection<Integer> reviewIds, int perReview);
+    void rebuildReplyCounts();
+}
@@ -0,0 +1,9 @@
+package ra.edu.service;
+
+import ra.edu.enums.ImageVariant;
+
+public interface EtagService {
+    String getRoomsEtag();
+    String getRoomEtag(Integer roomId, ImageVariant variant);
+    String getRoomReviewsEtag(Integer roomId);
+}
@@ -0,0 +1,8 @@
+package ra.edu.service;
+
+import ra.edu.dto.response.HotelFacetsResponse;
+
+public interface FacetService {
+    HotelFacetsResponse getHotelFacets();
+    void rebuild();
+}
@@ -0,0 +1,11 @@
+package ra.edu.service;
+
+import ra.edu.dto.response.HotelFacetsResponse;
+import ra.edu.dto.response.HotelResponse;
+import ra.edu.dto.response.PagedData;
+
+public interface HotelService {
+    PagedData<HotelResponse> getHotelsPage(String city, String country, int page, int size);
+    HotelResponse getHotelById(Integer hotelId);
+    HotelFacetsResponse getFacets();
+}
@@ -0,0 +1,10 @@
+package ra.edu.service;
+
+import org.springframework.web.multipart.MultipartFile;
+import ra.edu.dto.response.UploadJobResponse;
+
+public interface ImageUploadService {
+    UploadJobResponse uploadRoomImage(Integer userId, Integer roomId, MultipartFile file);
+    UploadJobResponse uploadHotelImage(Integer userId, Integer hotelId, MultipartFile file);
+    UploadJobResponse getJob(Integer userId, String jobId);
+}
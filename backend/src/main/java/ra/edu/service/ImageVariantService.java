@@ -0,0 +1,17 @@
+package ra.edu.service;
+
+import ra.edu.dto.response.CursorData;
+import ra.edu.dto.response.PagedData;
+import ra.edu.dto.response.RoomResponse;
+import ra.edu.enums.ImageVariant;
+
+import java.util.List;
+
+public interface ImageVariantService {
+    String toVariant(String imageUrl, ImageVariant variant);
+
+    RoomResponse withVariant(RoomResponse room, ImageVariant variant);
+    List<RoomResponse> withVariant(List<RoomResponse> rooms, ImageVariant variant);
+    PagedData<RoomResponse> withVariant(PagedData<RoomResponse> rooms, ImageVariant variant);
+    CursorData<RoomResponse> withVariant(CursorData<RoomResponse> rooms, ImageVariant variant);
+}
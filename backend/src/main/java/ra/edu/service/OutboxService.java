@@ -0,0 +1,8 @@
+package ra.edu.service;
+
+import ra.edu.entity.Booking;
+
+public interface OutboxService {
+    void enqueueBookingCreated(Booking booking);
+    void enqueueBookingCancelled(Booking booking);
+}
@@ -0,0 +1,12 @@
+package ra.edu.service;
+
+import ra.edu.entity.RoomRatingSummary;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface RatingSummaryService {
+    Map<Integer, RoomRatingSummary> getSummaries(Collection<Integer> roomIds);
+    void addRating(Integer roomId, Integer rating);
+    void rebuild();
+}
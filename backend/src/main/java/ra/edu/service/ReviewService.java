@@ -1,11 +1,15 @@
 package ra.edu.service;
 
 import ra.edu.dto.request.ReviewRequest;
+import ra.edu.dto.response.CursorData;
 import ra.edu.dto.response.ReviewResponse;
+import ra.edu.dto.response.ReviewThreadResponse;
 
 import java.util.List;
 
 public interface ReviewService {
     ReviewResponse createReview(ReviewRequest request);
     List<ReviewResponse> getReviewsByRoomId(Integer roomId);
+    CursorData<ReviewResponse> getReviewsByRoomIdBefore(Integer roomId, String cursor, int size);
+    CursorData<ReviewThreadResponse> getReviewThreadsByRoomIdBefore(Integer roomId, String cursor, int size, int replies);
 }
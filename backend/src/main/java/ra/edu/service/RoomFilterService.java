@@ -0,0 +1,11 @@
+package ra.edu.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import ra.edu.enums.RoomSort;
+
+public interface RoomFilterService {
+    Page<Integer> filter(Double minPrice, Double maxPrice, Integer guests, Integer hotelId, RoomSort sort, Pageable pageable);
+    void refreshRoom(Integer roomId);
+    void rebuild();
+}
@@ -0,0 +1,11 @@
+package ra.edu.service;
+
+import java.util.List;
+
+public interface RoomSearchService {
+    List<Integer> search(String keyword);
+    void reindexRoom(Integer roomId);
+    void reindexHotel(Integer hotelId);
+    void removeRoom(Integer roomId);
+    void rebuild();
+}
@@ -1,12 +1,31 @@
 package ra.edu.service;
 
+import ra.edu.dto.response.CursorData;
+import ra.edu.dto.response.PagedData;
 import ra.edu.dto.response.RoomResponse;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RoomService {
     List<RoomResponse> getRooms();
     List<RoomResponse> getRoomsByHotelId(Integer hotelId);
     RoomResponse getRoomById(Integer roomId);
     List<RoomResponse> searchRooms(String keyword);
+
+    PagedData<RoomResponse> getRoomsPage(int page, int size);
+    PagedData<RoomResponse> getRoomsByHotelIdPage(Integer hotelId, int page, int size);
+    PagedData<RoomResponse> searchRoomsPage(String keyword, int page, int size);
+
+    CursorData<RoomResponse> getRoomsAfter(Integer cursor, int size);
+    CursorData<RoomResponse> getRoomsByHotelIdAfter(Integer hotelId, Integer cursor, int size);
+    CursorData<RoomResponse> searchRoomsAfter(String keyword, Integer cursor, int size);
+
+    List<RoomResponse> getAvailableRooms(LocalDate checkIn, LocalDate checkOut, int guests, Integer hotelId);
+
+    PagedData<RoomResponse> filterRooms(Double minPrice, Double maxPrice, Integer guests, Integer hotelId,
+                                        String sort, int page, int size);
+
+    void exportRooms(Consumer<RoomResponse> consumer);
 }
@@ -0,0 +1,146 @@
+package ra.edu.service.imp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ra.edu.dto.projection.BookingInterval;
+import ra.edu.enums.BookingStatus;
+import ra.edu.event.BookingChangedEvent;
+import ra.edu.repository.BookingRepository;
+import ra.edu.service.AvailabilityService;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lịch đặt phòng trong bộ nhớ: mỗi phòng giữ các khoảng [checkIn, checkOut) đã gộp, tra cứu O(log n)
+@Service
+@Slf4j
+public class AvailabilityServiceImp implements AvailabilityService {
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Map<Integer, RoomCalendar> calendars = new ConcurrentHashMap<>();
+    // bookingId -> roomId, để gỡ booking khi bị hủy/xóa
+    private final Map<Integer, Integer> bookingRooms = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isAvailable(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        RoomCalendar calendar = calendars.get(roomId);
+        return calendar == null || calendar.isFree(checkIn, checkOut);
+    }
+
+    @Override
+    public List<Integer> filterAvailable(Collection<Integer> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        checkRange(checkIn, checkOut);
+        return roomIds.stream()
+                .filter(roomId -> isAvailable(roomId, checkIn, checkOut))
+                .toList();
+    }
+
+    @Override
+    public void refreshBooking(Integer bookingId) {
+        bookingRepository.findIntervalById(bookingId)
+                .filter(this::isHolding)
+                .ifPresentOrElse(this::put, () -> removeBooking(bookingId));
+    }
+
+    @Override
+    public void removeBooking(Integer bookingId) {
+        Integer roomId = bookingRooms.remove(bookingId);
+        if (roomId == null) return;
+        RoomCalendar calendar = calendars.get(roomId);
+        if (calendar != null) calendar.remove(bookingId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BookingInterval> intervals = bookingRepository.findIntervals(BookingStatus.ACTIVE, LocalDate.now());
+        calendars.clear();
+        bookingRooms.clear();
+        intervals.forEach(this::put);
+        log.info("Đã dựng lịch phòng trống từ {} booking", intervals.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.isRemoved()) {
+            removeBooking(event.getBookingId());
+        } else {
+            refreshBooking(event.getBookingId());
+        }
+    }
+
+    private boolean isHolding(BookingInterval interval) {
+        return interval.getStatus() != null && interval.getStatus().isActive()
+                && interval.getCheckIn() != null && interval.getCheckOut() != null
+                && interval.getCheckOut().isAfter(interval.getCheckIn());
+    }
+
+    private void put(BookingInterval interval) {
+        Integer previousRoomId = bookingRooms.put(interval.getBookingId(), interval.getRoomId());
+        if (previousRoomId != null && !previousRoomId.equals(interval.getRoomId())) {
+            RoomCalendar previous = calendars.get(previousRoomId);
+            if (previous != null) previous.remove(interval.getBookingId());
+        }
+        calendars.computeIfAbsent(interval.getRoomId(), id -> new RoomCalendar())
+                .put(interval.getBookingId(), interval.getCheckIn(), interval.getCheckOut());
+    }
+
+    static void checkRange(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            throw new IllegalArgumentException("Ngày nhận phòng và trả phòng không được để trống");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Ngày trả phòng phải sau ngày nhận phòng");
+        }
+    }
+
+    private static class RoomCalendar {
+        private final Map<Integer, LocalDate[]> bookings = new HashMap<>();
+        // Các khoảng đã gộp, không giao nhau: start -> end. Thay mới mỗi lần sửa nên đọc không cần khóa
+        private volatile NavigableMap<LocalDate, LocalDate> occupied = Collections.emptyNavigableMap();
+
+        boolean isFree(LocalDate checkIn, LocalDate checkOut) {
+            Map.Entry<LocalDate, LocalDate> before = occupied.lowerEntry(checkOut);
+            return before == null || !before.getValue().isAfter(checkIn);
+        }
+
+        synchronized void put(Integer bookingId, LocalDate checkIn, LocalDate checkOut) {
+            bookings.put(bookingId, new LocalDate[]{checkIn, checkOut});
+            merge();
+        }
+
+        synchronized void remove(Integer bookingId) {
+            if (bookings.remove(bookingId) != null) merge();
+        }
+
+        private void merge() {
+            List<LocalDate[]> ranges = new ArrayList<>(bookings.values());
+            ranges.sort(Comparator.comparing(range -> range[0]));
+
+            TreeMap<LocalDate, LocalDate> merged = new TreeMap<>();
+            LocalDate start = null;
+            LocalDate end = null;
+            for (LocalDate[] range : ranges) {
+                if (start != null && !range[0].isAfter(end)) {
+                    if (range[1].isAfter(end)) end = range[1];
+                    continue;
+                }
+                if (start != null) merged.put(start, end);
+                start = range[0];
+                end = range[1];
+            }
+            if (start != null) merged.put(start, end);
+            occupied = Collections.unmodifiableNavigableMap(merged);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ra.edu.service.imp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ra.edu.dto.request.BookingRequest;
+import ra.edu.dto.response.BookingResponse;
+import ra.edu.entity.Booking;
+import ra.edu.entity.Room;
+import ra.edu.entity.User;
+import ra.edu.enums.BookingStatus;
+import ra.edu.exception.ConflictException;
+import ra.edu.exception.NotFoundException;
+import ra.edu.mapper.BookingMapper;
+import ra.edu.repository.BookingRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.repository.UserRepository;
+import ra.edu.service.AvailabilityService;
+import ra.edu.service.BookingService;
+import ra.edu.service.OutboxService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Service
+public class BookingServiceImp implements BookingService {
+    // Khóa theo phòng (chia sọc): booking khác phòng không chặn nhau
+    private static final int LOCK_STRIPES = 256;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AvailabilityService availabilityService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock[] roomLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public BookingServiceImp() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public BookingResponse createBooking(Integer userId, BookingRequest request) {
+        LocalDate checkIn = request.getCheckIn();
+        LocalDate checkOut = request.getCheckOut();
+        AvailabilityServiceImp.checkRange(checkIn, checkOut);
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Ngày nhận phòng không được ở quá khứ");
+        }
+
+        // Từ chối sớm các yêu cầu gửi lại cho phòng đã kín lịch, không cần chạm DB
+        if (!availabilityService.isAvailable(request.getRoomId(), checkIn, checkOut)) {
+            throw new ConflictException("Phòng đã có người đặt trong khoảng thời gian này");
+        }
+
+        return withRoomLock(request.getRoomId(), () -> {
+            Room room = roomRepository.findByIdForUpdate(request.getRoomId())
+                    .orElseThrow(() -> new NotFoundException("Không tìm thấy phòng với ID: " + request.getRoomId()));
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new NotFoundException("User không tồn tại với ID: " + userId));
+
+            int adults = request.getAdultsCount();
+            int children = request.getChildrenCount() != null ? request.getChildrenCount() : 0;
+            int infants = request.getInfantsCount() != null ? request.getInfantsCount() : 0;
+            if (room.getCapacity() != null && adults + children > room.getCapacity()) {
+                throw new IllegalArgumentException("Số khách vượt quá sức chứa của phòng");
+            }
+
+            if (bookingRepository.existsOverlapping(room.getRoomId(), checkIn, checkOut, BookingStatus.ACTIVE)) {
+                throw new ConflictException("Phòng đã có người đặt trong khoảng thời gian này");
+            }
+
+            long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+            LocalDateTime now = LocalDateTime.now();
+            Booking booking = Booking.builder()
+                    .user(user)
+                    .room(room)
+                    .checkIn(checkIn)
+                    .checkOut(checkOut)
+                    .totalPrice(room.getPrice() * nights)
+                    .status(BookingStatus.PENDING)
+                    .adultsCount(adults)
+                    .childrenCount(children)
+                    .infantsCount(infants)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+
+            booking = bookingRepository.save(booking);
+            // Thư xác nhận được ghi vào outbox cùng transaction, gửi SMTP ở nền
+            outboxService.enqueueBookingCreated(booking);
+            return BookingMapper.toResponse(booking);
+        });
+    }
+
+    @Override
+    public BookingResponse cancelBooking(Integer userId, Integer bookingId) {
+        Booking current = findOwnedBooking(userId, bookingId);
+
+        return withRoomLock(current.getRoom().getRoomId(), () -> {
+            Booking booking = findOwnedBooking(userId, bookingId);
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                throw new ConflictException("Booking đã bị hủy trước đó");
+            }
+            booking.setStatus(BookingStatus.CANCELLED);
+            booking.setUpdatedAt(LocalDateTime.now());
+            booking = bookingRepository.save(booking);
+            outboxService.enqueueBookingCancelled(booking);
+            return BookingMapper.toResponse(booking);
+        });
+    }
+
+    @Override
+    public BookingResponse getBooking(Integer userId, Integer bookingId) {
+        return BookingMapper.toResponse(findOwnedBooking(userId, bookingId));
+    }
+
+    @Override
+    public List<BookingResponse> getBookingsByUserId(Integer userId) {
+        return bookingRepository.findByUser_UserIdOrderByCreatedAtDesc(userId).stream()
+                .map(BookingMapper::toResponse)
+                .toList();
+    }
+
+    // Booking của người khác trả về 404 giống booking không tồn tại, không để lộ id nào có thật
+    private Booking findOwnedBooking(Integer userId, Integer bookingId) {
+        return bookingRepository.findById(bookingId)
+                .filter(booking -> booking.getUser().getUserId().equals(userId))
+                .orElseThrow(() -> new NotFoundException("Không tìm thấy booking với ID: " + bookingId));
+    }
+
+    // Giữ khóa cho tới khi transaction commit xong để yêu cầu sau luôn thấy booking vừa ghi
+    private <T> T withRoomLock(Integer roomId, Supplier<T> action) {
+        ReentrantLock lock = roomLocks[Math.floorMod(roomId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
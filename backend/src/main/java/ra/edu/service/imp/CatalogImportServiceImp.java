@@ -0,0 +1,262 @@
+package ra.edu.service.imp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ra.edu.dto.request.HotelImportRequest;
+import ra.edu.dto.request.HotelImportRequest.RoomImportRequest;
+import ra.edu.dto.response.CatalogImportResponse;
+import ra.edu.event.CatalogReloadedEvent;
+import ra.edu.exception.TooManyRequestsException;
+import ra.edu.service.CatalogImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+// Import catalog lớn bằng JDBC batch thay vì save() từng entity: IDENTITY khiến Hibernate không batch được insert.
+// Đọc NDJSON từng dòng, gom đủ một chunk thì ghi hotels -> rooms -> ảnh trong một transaction rồi commit.
+// Với rewriteBatchedStatements mỗi bảng chỉ tốn một vài round trip cho cả chunk, id sinh ra lấy từ generated keys.
+@Service
+@Slf4j
+public class CatalogImportServiceImp implements CatalogImportService {
+    private static final String INSERT_HOTEL = "INSERT INTO hotels "
+            + "(hotel_name, address, city, country, description, owner_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ROOM = "INSERT INTO rooms "
+            + "(hotel_id, room_type, price, capacity, description, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_HOTEL_IMAGE = "INSERT INTO hotel_images (hotel_id, image_url) VALUES (?, ?)";
+    private static final String INSERT_ROOM_IMAGE = "INSERT INTO room_images (room_id, image_url) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${catalog_import_chunk_rows:5000}")
+    private int chunkRows;
+
+    // Chỉ một lượt import tại một thời điểm (đường dẫn này không đi qua bulkhead)
+    private final Semaphore running = new Semaphore(1);
+
+    private static class Counters {
+        long hotels;
+        long rooms;
+        long hotelImages;
+        long roomImages;
+        int chunks;
+
+        long total() {
+            return hotels + rooms + hotelImages + roomImages;
+        }
+    }
+
+    // Chunk đã commit được giữ lại nếu dòng sau lỗi; lỗi trả về số thứ tự bản ghi để import tiếp phần còn lại
+    @Override
+    public CatalogImportResponse importCatalog(Integer ownerId, InputStream input) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new TooManyRequestsException("Đang có một lượt import catalog khác, vui lòng thử lại sau");
+        }
+        try {
+            return runImport(ownerId, input);
+        } finally {
+            running.release();
+        }
+    }
+
+    private CatalogImportResponse runImport(Integer ownerId, InputStream input) throws IOException {
+        long start = System.nanoTime();
+        Counters counters = new Counters();
+        List<HotelImportRequest> chunk = new ArrayList<>();
+        int chunkSize = 0;
+        long index = 0;
+
+        try (MappingIterator<HotelImportRequest> records =
+                     objectMapper.readerFor(HotelImportRequest.class).readValues(input)) {
+            while (true) {
+                HotelImportRequest hotel;
+                try {
+                    if (!records.hasNextValue()) break;
+                    index++;
+                    hotel = records.nextValue();
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Bản ghi thứ " + index + " không hợp lệ: " + e.getOriginalMessage());
+                }
+                validate(hotel, index);
+                chunk.add(hotel);
+                chunkSize += rowsOf(hotel);
+                if (chunkSize >= chunkRows) {
+                    writeChunk(chunk, ownerId, counters);
+                    chunk.clear();
+                    chunkSize = 0;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, ownerId, counters);
+            }
+        } finally {
+            if (counters.hotels > 0) {
+                eventPublisher.publishEvent(new CatalogReloadedEvent(counters.hotels, counters.rooms));
+            }
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        double rowsPerSecond = counters.total() * 1000.0 / elapsedMs;
+        log.info("Import catalog: {} khách sạn, {} phòng, {} ảnh khách sạn, {} ảnh phòng trong {} ms ({} dòng/giây)",
+                counters.hotels, counters.rooms, counters.hotelImages, counters.roomImages,
+                elapsedMs, Math.round(rowsPerSecond));
+        return new CatalogImportResponse(counters.hotels, counters.rooms, counters.hotelImages, counters.roomImages,
+                counters.total(), counters.chunks, elapsedMs, rowsPerSecond);
+    }
+
+    private void writeChunk(List<HotelImportRequest> hotels, Integer ownerId, Counters counters) {
+        long[] written = transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Integer> hotelIds = insertHotels(hotels, ownerId, now);
+
+            List<RoomImportRequest> rooms = new ArrayList<>();
+            List<Integer> roomHotelIds = new ArrayList<>();
+            List<Object[]> hotelImages = new ArrayList<>();
+            for (int i = 0; i < hotels.size(); i++) {
+                HotelImportRequest hotel = hotels.get(i);
+                Integer hotelId = hotelIds.get(i);
+                for (String url : listOf(hotel.getImages())) {
+                    hotelImages.add(new Object[]{hotelId, url});
+                }
+                for (RoomImportRequest room : listOf(hotel.getRooms())) {
+                    rooms.add(room);
+                    roomHotelIds.add(hotelId);
+                }
+            }
+            List<Integer> roomIds = insertRooms(rooms, roomHotelIds, now);
+
+            List<Object[]> roomImages = new ArrayList<>();
+            for (int i = 0; i < rooms.size(); i++) {
+                for (String url : listOf(rooms.get(i).getImages())) {
+                    roomImages.add(new Object[]{roomIds.get(i), url});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_HOTEL_IMAGE, hotelImages);
+            jdbcTemplate.batchUpdate(INSERT_ROOM_IMAGE, roomImages);
+
+            return new long[]{hotels.size(), rooms.size(), hotelImages.size(), roomImages.size()};
+        });
+        // Chỉ cộng sau khi commit thành công
+        counters.hotels += written[0];
+        counters.rooms += written[1];
+        counters.hotelImages += written[2];
+        counters.roomImages += written[3];
+        counters.chunks++;
+    }
+
+    private List<Integer> insertHotels(List<HotelImportRequest> hotels, Integer ownerId, Timestamp now) {
+        return insertReturningIds(INSERT_HOTEL, hotels.size(), (ps, i) -> {
+            HotelImportRequest hotel = hotels.get(i);
+            ps.setString(1, hotel.getHotelName());
+            ps.setString(2, hotel.getAddress());
+            ps.setString(3, hotel.getCity());
+            ps.setString(4, hotel.getCountry());
+            ps.setString(5, hotel.getDescription());
+            if (ownerId != null) ps.setInt(6, ownerId);
+            else ps.setNull(6, Types.INTEGER);
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    private List<Integer> insertRooms(List<RoomImportRequest> rooms, List<Integer> hotelIds, Timestamp now) {
+        return insertReturningIds(INSERT_ROOM, rooms.size(), (ps, i) -> {
+            RoomImportRequest room = rooms.get(i);
+            ps.setInt(1, hotelIds.get(i));
+            ps.setString(2, room.getRoomType());
+            ps.setDouble(3, room.getPrice());
+            if (room.getCapacity() != null) ps.setInt(4, room.getCapacity());
+            else ps.setNull(4, Types.INTEGER);
+            ps.setString(5, room.getDescription());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    // Id trả về theo đúng thứ tự các dòng trong batch
+    private List<Integer> insertReturningIds(String sql, int count, RowSetter setter) {
+        if (count == 0) return List.of();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.set(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                },
+                keyHolder);
+        List<Integer> ids = new ArrayList<>(count);
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).intValue());
+        }
+        if (ids.size() != count) {
+            throw new IllegalStateException("Số id sinh ra (" + ids.size() + ") không khớp số dòng (" + count + ")");
+        }
+        return ids;
+    }
+
+    private void validate(HotelImportRequest hotel, long index) {
+        if (hotel.getHotelName() == null || hotel.getHotelName().isBlank()) {
+            throw new IllegalArgumentException("Bản ghi thứ " + index + " thiếu hotelName");
+        }
+        for (RoomImportRequest room : listOf(hotel.getRooms())) {
+            if (room.getRoomType() == null || room.getRoomType().isBlank() || room.getPrice() == null) {
+                throw new IllegalArgumentException("Bản ghi thứ " + index + " có phòng thiếu roomType hoặc price");
+            }
+        }
+    }
+
+    private int rowsOf(HotelImportRequest hotel) {
+        int rows = 1 + listOf(hotel.getImages()).size();
+        for (RoomImportRequest room : listOf(hotel.getRooms())) {
+            rows += 1 + listOf(room.getImages()).size();
+        }
+        return rows;
+    }
+
+    private static <T> List<T> listOf(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
@@ -0,0 +1,101 @@
+package ra.edu.service.imp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ra.edu.dto.request.CommentRequest;
+import ra.edu.dto.response.CommentResponse;
+import ra.edu.dto.response.CursorData;
+import ra.edu.entity.Comment;
+import ra.edu.entity.Review;
+import ra.edu.entity.User;
+import ra.edu.exception.NotFoundException;
+import ra.edu.mapper.CommentMapper;
+import ra.edu.repository.CommentRepository;
+import ra.edu.repository.ReviewRepository;
+import ra.edu.repository.UserRepository;
+import ra.edu.service.CommentService;
+import ra.edu.util.ResponseUtil;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class CommentServiceImp implements CommentService {
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public CommentResponse createComment(Integer userId, Integer reviewId, CommentRequest request) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new NotFoundException("Đánh giá không tồn tại với ID: " + reviewId));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User không tồn tại với ID: " + userId));
+
+        Comment comment = Comment.builder()
+                .review(review)
+                .user(user)
+                .comment(request.getComment())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        comment = commentRepository.save(comment);
+        reviewRepository.incrementReplyCount(reviewId);
+        return CommentMapper.toResponse(comment);
+    }
+
+    @Override
+    public CursorData<CommentResponse> getCommentsByReviewId(Integer reviewId, String cursor, int size) {
+        ResponseUtil.checkPageSize(size);
+        List<CommentResponse> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findThreadByReviewId(reviewId, Limit.of(size + 1));
+        } else {
+            String[] parts = ResponseUtil.decodeCursor(cursor, 2);
+            LocalDateTime createdAt;
+            Integer commentId;
+            try {
+                createdAt = LocalDateTime.parse(parts[0]);
+                commentId = Integer.valueOf(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor không hợp lệ");
+            }
+            comments = commentRepository.findThreadByReviewIdAfter(reviewId, createdAt, commentId, Limit.of(size + 1));
+        }
+        return ResponseUtil.convertToCursorData(comments, size,
+                comment -> ResponseUtil.encodeCursor(comment.getCreatedAt(), comment.getCommentId()));
+    }
+
+    // Hai truy vấn cho cả trang review bất kể số review: id phản hồi qua ROW_NUMBER, rồi projection theo id
+    @Override
+    public Map<Integer, List<CommentResponse>> getTopReplies(Collection<Integer> reviewIds, int perReview) {
+        if (reviewIds.isEmpty() || perReview == 0) return Map.of();
+        List<Integer> commentIds = commentRepository.findTopReplyIds(reviewIds, perReview);
+        if (commentIds.isEmpty()) return Map.of();
+        return commentRepository.findResponsesByCommentIdIn(commentIds).stream()
+                .collect(Collectors.groupingBy(CommentResponse::getReviewId, Collectors.toList()));
+    }
+
+    // Luồng phản hồi chỉ tải comment của review có reply_count > 0, nên đồng bộ lại khi khởi động
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildReplyCounts() {
+        int rows = reviewRepository.rebuildReplyCounts();
+        log.info("Đã đồng bộ số phản hồi của đánh giá ({} dòng)", rows);
+    }
+}
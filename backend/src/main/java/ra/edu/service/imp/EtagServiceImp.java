@@ -0,0 +1,45 @@
+package ra.edu.service.imp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import ra.edu.enums.ImageVariant;
+import ra.edu.repository.ReviewRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.service.EtagService;
+
+import java.nio.charset.StandardCharsets;
+
+// ETag mạnh tính từ tín hiệu phiên bản trong DB, không nạp entity và không serialize body
+@Service
+public class EtagServiceImp implements EtagService {
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Override
+    public String getRoomsEtag() {
+        return toEtag("rooms", roomRepository.findCatalogVersion());
+    }
+
+    // Trả về null khi phòng không tồn tại để request đi tiếp và nhận 404 như bình thường.
+    // Mỗi kích thước ảnh là một body khác nhau nên có ETag riêng
+    @Override
+    public String getRoomEtag(Integer roomId, ImageVariant variant) {
+        return roomRepository.findRoomVersion(roomId)
+                .map(version -> toEtag("room:" + roomId + ":" + variant.name(), version))
+                .orElse(null);
+    }
+
+    @Override
+    public String getRoomReviewsEtag(Integer roomId) {
+        return toEtag("reviews:" + roomId, reviewRepository.findRoomReviewsVersion(roomId));
+    }
+
+    private String toEtag(String resource, String version) {
+        String hash = DigestUtils.md5DigestAsHex((resource + "|" + version).getBytes(StandardCharsets.UTF_8));
+        return "\"" + hash + "\"";
+    }
+}
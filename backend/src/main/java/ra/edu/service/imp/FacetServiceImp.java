@@ -0,0 +1,178 @@
+package ra.edu.service.imp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ra.edu.dto.projection.HotelLocation;
+import ra.edu.dto.projection.RoomHotelId;
+import ra.edu.dto.response.FacetCount;
+import ra.edu.dto.response.HotelFacetsResponse;
+import ra.edu.event.CatalogReloadedEvent;
+import ra.edu.event.HotelChangedEvent;
+import ra.edu.event.RoomChangedEvent;
+import ra.edu.repository.HotelRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.service.FacetService;
+
+import java.util.*;
+
+// Đếm số khách sạn/phòng theo thành phố và quốc gia trong bộ nhớ, cập nhật dần theo sự kiện thay vì GROUP BY mỗi lần
+@Service
+@Slf4j
+public class FacetServiceImp implements FacetService {
+    private static final Comparator<FacetCount> BY_COUNT = Comparator.comparingInt(FacetCount::getHotelCount).reversed()
+            .thenComparing(FacetCount::getValue);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private static class HotelEntry {
+        String city;
+        String country;
+        int roomCount;
+    }
+
+    private static class Counter {
+        int hotels;
+        int rooms;
+    }
+
+    private Map<Integer, HotelEntry> hotels = new HashMap<>();
+    private Map<Integer, Integer> roomHotels = new HashMap<>();
+    private Map<String, Counter> cities = new HashMap<>();
+    private Map<String, Counter> countries = new HashMap<>();
+
+    @Override
+    public synchronized HotelFacetsResponse getHotelFacets() {
+        return new HotelFacetsResponse(toFacets(cities), toFacets(countries));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    public void rebuild() {
+        List<HotelLocation> locations = hotelRepository.findLocations();
+        List<RoomHotelId> rooms = roomRepository.findRoomHotelIds();
+
+        synchronized (this) {
+            hotels = new HashMap<>();
+            roomHotels = new HashMap<>();
+            cities = new HashMap<>();
+            countries = new HashMap<>();
+            locations.forEach(location -> putHotel(location.getHotelId(), location.getCity(), location.getCountry()));
+            rooms.forEach(room -> moveRoom(room.getRoomId(), room.getHotelId()));
+        }
+        log.info("Đã dựng facet cho {} khách sạn, {} phòng", locations.size(), rooms.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.isRemoved()) {
+            removeHotel(event.getHotelId());
+            return;
+        }
+        hotelRepository.findLocationByHotelId(event.getHotelId()).ifPresentOrElse(
+                location -> {
+                    synchronized (this) {
+                        putHotel(location.getHotelId(), location.getCity(), location.getCountry());
+                    }
+                },
+                () -> removeHotel(event.getHotelId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (!event.isRemoved() && event.getHotelId() != null && !isKnownHotel(event.getHotelId())) {
+            // Khách sạn mới tạo cùng lúc với phòng: nạp vị trí trước khi đếm phòng
+            hotelRepository.findLocationByHotelId(event.getHotelId()).ifPresent(location -> {
+                synchronized (this) {
+                    putHotel(location.getHotelId(), location.getCity(), location.getCountry());
+                }
+            });
+        }
+        synchronized (this) {
+            moveRoom(event.getRoomId(), event.isRemoved() ? null : event.getHotelId());
+        }
+    }
+
+    private synchronized boolean isKnownHotel(Integer hotelId) {
+        return hotels.containsKey(hotelId);
+    }
+
+    private synchronized void removeHotel(Integer hotelId) {
+        HotelEntry entry = hotels.remove(hotelId);
+        if (entry == null) return;
+        adjust(entry.city, entry.country, -1, -entry.roomCount);
+        roomHotels.values().removeIf(hotelId::equals);
+    }
+
+    // Thêm khách sạn hoặc chuyển nó (cùng số phòng) sang thành phố/quốc gia mới
+    private void putHotel(Integer hotelId, String city, String country) {
+        String cityKey = normalize(city);
+        String countryKey = normalize(country);
+        HotelEntry entry = hotels.get(hotelId);
+        if (entry == null) {
+            entry = new HotelEntry();
+            hotels.put(hotelId, entry);
+        } else {
+            if (Objects.equals(entry.city, cityKey) && Objects.equals(entry.country, countryKey)) return;
+            adjust(entry.city, entry.country, -1, -entry.roomCount);
+        }
+        entry.city = cityKey;
+        entry.country = countryKey;
+        adjust(cityKey, countryKey, 1, entry.roomCount);
+    }
+
+    // hotelId null nghĩa là phòng bị xóa
+    private void moveRoom(Integer roomId, Integer hotelId) {
+        Integer previous = hotelId != null ? roomHotels.put(roomId, hotelId) : roomHotels.remove(roomId);
+        if (Objects.equals(previous, hotelId)) return;
+        changeRoomCount(previous, -1);
+        changeRoomCount(hotelId, 1);
+    }
+
+    private void changeRoomCount(Integer hotelId, int delta) {
+        if (hotelId == null) return;
+        HotelEntry entry = hotels.get(hotelId);
+        if (entry == null) return;
+        entry.roomCount += delta;
+        adjust(entry.city, entry.country, 0, delta);
+    }
+
+    private void adjust(String city, String country, int hotelDelta, int roomDelta) {
+        adjust(cities, city, hotelDelta, roomDelta);
+        adjust(countries, country, hotelDelta, roomDelta);
+    }
+
+    private void adjust(Map<String, Counter> counters, String key, int hotelDelta, int roomDelta) {
+        if (key == null) return;
+        Counter counter = counters.computeIfAbsent(key, k -> new Counter());
+        counter.hotels += hotelDelta;
+        counter.rooms += roomDelta;
+        if (counter.hotels <= 0 && counter.rooms <= 0) {
+            counters.remove(key);
+        }
+    }
+
+    private List<FacetCount> toFacets(Map<String, Counter> counters) {
+        List<FacetCount> facets = new ArrayList<>(counters.size());
+        counters.forEach((value, counter) -> facets.add(new FacetCount(value, counter.hotels, counter.rooms)));
+        facets.sort(BY_COUNT);
+        return facets;
+    }
+
+    private String normalize(String value) {
+        if (value == null || value.isBlank()) return null;
+        return value.trim();
+    }
+}
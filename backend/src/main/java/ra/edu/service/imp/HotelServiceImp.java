@@ -0,0 +1,83 @@
+package ra.edu.service.imp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import ra.edu.dto.projection.HotelImageUrl;
+import ra.edu.dto.projection.HotelRow;
+import ra.edu.dto.response.HotelFacetsResponse;
+import ra.edu.dto.response.HotelResponse;
+import ra.edu.dto.response.PagedData;
+import ra.edu.exception.NotFoundException;
+import ra.edu.mapper.HotelMapper;
+import ra.edu.repository.HotelImageRepository;
+import ra.edu.repository.HotelRepository;
+import ra.edu.service.FacetService;
+import ra.edu.service.HotelService;
+import ra.edu.util.ResponseUtil;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class HotelServiceImp implements HotelService {
+    private static final Sort HOTEL_ID_SORT = Sort.by("hotelId");
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HotelImageRepository hotelImageRepository;
+
+    @Autowired
+    private FacetService facetService;
+
+    @Override
+    public PagedData<HotelResponse> getHotelsPage(String city, String country, int page, int size) {
+        Page<Integer> idPage = hotelRepository.findHotelIds(blankToNull(city), blankToNull(country),
+                ResponseUtil.toPageable(page, size, HOTEL_ID_SORT));
+        List<HotelResponse> hotels = findByIdsInOrder(idPage.getContent());
+        return ResponseUtil.convertToPagedData(
+                new PageImpl<>(hotels, idPage.getPageable(), idPage.getTotalElements()));
+    }
+
+    @Override
+    public HotelResponse getHotelById(Integer hotelId) {
+        HotelRow row = hotelRepository.findRowByHotelId(hotelId)
+                .orElseThrow(() -> new NotFoundException("Không tìm thấy khách sạn với ID: " + hotelId));
+        return HotelMapper.toResponse(row, findImageUrls(List.of(hotelId)).getOrDefault(hotelId, List.of()));
+    }
+
+    @Override
+    public HotelFacetsResponse getFacets() {
+        return facetService.getHotelFacets();
+    }
+
+    private List<HotelResponse> findByIdsInOrder(List<Integer> hotelIds) {
+        if (hotelIds.isEmpty()) return List.of();
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (int i = 0; i < hotelIds.size(); i++) {
+            positions.put(hotelIds.get(i), i);
+        }
+        Map<Integer, List<String>> imageUrls = findImageUrls(hotelIds);
+        return hotelRepository.findRowsByHotelIdIn(hotelIds).stream()
+                .sorted(Comparator.comparing(row -> positions.get(row.getHotelId())))
+                .map(row -> HotelMapper.toResponse(row, imageUrls.getOrDefault(row.getHotelId(), List.of())))
+                .toList();
+    }
+
+    private Map<Integer, List<String>> findImageUrls(List<Integer> hotelIds) {
+        return hotelImageRepository.findImageUrlsByHotelIdIn(hotelIds).stream()
+                .collect(Collectors.groupingBy(HotelImageUrl::getHotelId,
+                        Collectors.mapping(HotelImageUrl::getImageUrl, Collectors.toList())));
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
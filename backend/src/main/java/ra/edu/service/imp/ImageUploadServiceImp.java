@@ -0,0 +1,213 @@
+package ra.edu.service.imp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import ra.edu.dto.response.UploadJobResponse;
+import ra.edu.entity.Hotel;
+import ra.edu.entity.HotelImage;
+import ra.edu.entity.Room;
+import ra.edu.entity.RoomImage;
+import ra.edu.enums.UploadStatus;
+import ra.edu.enums.UploadTarget;
+import ra.edu.exception.ForbiddenException;
+import ra.edu.exception.NotFoundException;
+import ra.edu.exception.TooManyRequestsException;
+import ra.edu.repository.HotelImageRepository;
+import ra.edu.repository.HotelRepository;
+import ra.edu.repository.RoomImageRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.service.ImageUploadService;
+import ra.edu.storage.ImageStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+@Service
+public class ImageUploadServiceImp implements ImageUploadService {
+    static final String TEMP_PREFIX = "image-upload-";
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomImageRepository roomImageRepository;
+
+    @Autowired
+    private HotelImageRepository hotelImageRepository;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    @Qualifier("imageUploadExecutor")
+    private ThreadPoolExecutor uploadExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${upload_job_ttl_minutes:60}")
+    private long jobTtlMinutes;
+
+    private Cache<String, UploadJobResponse> jobs;
+
+    @PostConstruct
+    public void init() {
+        jobs = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(jobTtlMinutes))
+                .build();
+    }
+
+    @Override
+    public UploadJobResponse uploadRoomImage(Integer userId, Integer roomId, MultipartFile file) {
+        Room room = roomRepository.findByRoomId(roomId)
+                .orElseThrow(() -> new NotFoundException("Không tìm thấy phòng với ID: " + roomId));
+        checkOwner(userId, room.getHotel());
+        return submit(userId, UploadTarget.ROOM, roomId, file);
+    }
+
+    @Override
+    public UploadJobResponse uploadHotelImage(Integer userId, Integer hotelId, MultipartFile file) {
+        Hotel hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new NotFoundException("Không tìm thấy khách sạn với ID: " + hotelId));
+        checkOwner(userId, hotel);
+        return submit(userId, UploadTarget.HOTEL, hotelId, file);
+    }
+
+    @Override
+    public UploadJobResponse getJob(Integer userId, String jobId) {
+        UploadJobResponse job = jobs.getIfPresent(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new NotFoundException("Không tìm thấy job upload: " + jobId);
+        }
+        return job;
+    }
+
+    // Multipart đã được Tomcat ghi ra đĩa, transferTo chỉ chuyển sang file tạm của mình rồi trả request về ngay
+    private UploadJobResponse submit(Integer userId, UploadTarget target, Integer targetId, MultipartFile file) {
+        checkImage(file);
+        Path temp;
+        try {
+            temp = Files.createTempFile(TEMP_PREFIX, extensionOf(file.getContentType()));
+            file.transferTo(temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể lưu file tạm", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadJobResponse job = UploadJobResponse.builder()
+                .jobId(UUID.randomUUID().toString())
+                .target(target)
+                .targetId(targetId)
+                .status(UploadStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .userId(userId)
+                .build();
+        jobs.put(job.getJobId(), job);
+        try {
+            uploadExecutor.execute(() -> runJob(job, temp));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getJobId());
+            deleteQuietly(temp);
+            throw new TooManyRequestsException("Hàng đợi upload ảnh đã đầy, vui lòng thử lại sau");
+        }
+        return job;
+    }
+
+    private void runJob(UploadJobResponse job, Path temp) {
+        update(job.getJobId(), current -> current.toBuilder().status(UploadStatus.RUNNING).build());
+        try {
+            String folder = job.getTarget().name().toLowerCase() + "s/" + job.getTargetId();
+            String imageUrl = imageStore.store(temp, folder);
+            Integer imageId = transactionTemplate.execute(status -> saveImage(job.getTarget(), job.getTargetId(), imageUrl));
+            update(job.getJobId(), current -> current.toBuilder()
+                    .status(UploadStatus.DONE)
+                    .imageId(imageId)
+                    .imageUrl(imageUrl)
+                    .build());
+        } catch (Exception e) {
+            log.error("Upload ảnh thất bại, job {}: {}", job.getJobId(), e.getMessage());
+            update(job.getJobId(), current -> current.toBuilder()
+                    .status(UploadStatus.FAILED)
+                    .error(e.getMessage())
+                    .build());
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    // Ghi RoomImage/HotelImage khi upload xong; EntityChangeListener sẽ làm mới cache phòng
+    private Integer saveImage(UploadTarget target, Integer targetId, String imageUrl) {
+        if (target == UploadTarget.ROOM) {
+            return roomImageRepository.save(RoomImage.builder()
+                    .room(roomRepository.getReferenceById(targetId))
+                    .imageUrl(imageUrl)
+                    .build()).getImageId();
+        }
+        return hotelImageRepository.save(HotelImage.builder()
+                .hotel(hotelRepository.getReferenceById(targetId))
+                .imageUrl(imageUrl)
+                .build()).getImageId();
+    }
+
+    private void update(String jobId, UnaryOperator<UploadJobResponse> change) {
+        jobs.asMap().computeIfPresent(jobId, (id, job) -> {
+            UploadJobResponse updated = change.apply(job);
+            updated.setUpdatedAt(LocalDateTime.now());
+            return updated;
+        });
+    }
+
+    private void checkOwner(Integer userId, Hotel hotel) {
+        if (hotel == null || hotel.getOwner() == null || !hotel.getOwner().getUserId().equals(userId)) {
+            throw new ForbiddenException("Bạn không phải chủ khách sạn này");
+        }
+    }
+
+    private void checkImage(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File ảnh không được để trống");
+        }
+        if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
+            throw new IllegalArgumentException("File tải lên phải là ảnh");
+        }
+    }
+
+    // image/jpeg -> .jpg, image/png -> .png; kiểu lạ thì để .tmp
+    private static String extensionOf(String contentType) {
+        String subtype = contentType.substring(contentType.indexOf('/') + 1).toLowerCase();
+        int parameters = subtype.indexOf(';');
+        if (parameters >= 0) subtype = subtype.substring(0, parameters).trim();
+        if (subtype.equals("jpeg")) return ".jpg";
+        return subtype.matches("[a-z0-9]{1,5}") ? "." + subtype : ".tmp";
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Không xóa được file tạm {}", file);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ra.edu.service.imp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ra.edu.dto.response.CursorData;
+import ra.edu.dto.response.PagedData;
+import ra.edu.dto.response.RoomResponse;
+import ra.edu.enums.ImageVariant;
+import ra.edu.mapper.RoomMapper;
+import ra.edu.service.ImageVariantService;
+
+import java.util.List;
+
+// Đổi URL ảnh gốc sang bản đúng kích thước màn hình cần bằng transformation trên URL Cloudinary,
+// ảnh được resize và nén ở CDN nên server không phải xử lý ảnh
+@Service
+public class ImageVariantServiceImp implements ImageVariantService {
+    private static final String CLOUDINARY_UPLOAD_SEGMENT = "/image/upload/";
+
+    @Value("${image_thumbnail_width:320}")
+    private int thumbnailWidth;
+    @Value("${image_medium_width:1024}")
+    private int mediumWidth;
+
+    // URL không phải Cloudinary (ảnh local khi dev, link ngoài) giữ nguyên
+    @Override
+    public String toVariant(String imageUrl, ImageVariant variant) {
+        if (imageUrl == null || variant == ImageVariant.FULL) return imageUrl;
+        int index = imageUrl.indexOf(CLOUDINARY_UPLOAD_SEGMENT);
+        if (index < 0) return imageUrl;
+        int insertAt = index + CLOUDINARY_UPLOAD_SEGMENT.length();
+        return imageUrl.substring(0, insertAt) + transformation(variant) + "/" + imageUrl.substring(insertAt);
+    }
+
+    // Luôn trả bản sao: RoomResponse có thể đang nằm trong cache, không được sửa tại chỗ
+    @Override
+    public RoomResponse withVariant(RoomResponse room, ImageVariant variant) {
+        if (room == null || variant == ImageVariant.FULL || room.getImageUrls() == null) return room;
+        List<String> imageUrls = room.getImageUrls().stream()
+                .map(url -> toVariant(url, variant))
+                .toList();
+        return RoomMapper.withImageUrls(room, imageUrls);
+    }
+
+    @Override
+    public List<RoomResponse> withVariant(List<RoomResponse> rooms, ImageVariant variant) {
+        if (rooms == null || variant == ImageVariant.FULL) return rooms;
+        return rooms.stream().map(room -> withVariant(room, variant)).toList();
+    }
+
+    @Override
+    public PagedData<RoomResponse> withVariant(PagedData<RoomResponse> rooms, ImageVariant variant) {
+        return new PagedData<>(withVariant(rooms.getItems(), variant), rooms.getPagination());
+    }
+
+    @Override
+    public CursorData<RoomResponse> withVariant(CursorData<RoomResponse> rooms, ImageVariant variant) {
+        return new CursorData<>(withVariant(rooms.getItems(), variant), rooms.getNextCursor(), rooms.isHasNext());
+    }
+
+    // Thumbnail cắt đúng khung 4:3 cho ô danh sách, medium chỉ giới hạn chiều rộng cho màn chi tiết
+    private String transformation(ImageVariant variant) {
+        if (variant == ImageVariant.THUMBNAIL) {
+            return "c_fill,w_" + thumbnailWidth + ",h_" + (thumbnailWidth * 3 / 4) + ",q_auto,f_auto";
+        }
+        return "c_limit,w_" + mediumWidth + ",q_auto,f_auto";
+    }
+}
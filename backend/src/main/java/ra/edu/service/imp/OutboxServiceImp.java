@@ -0,0 +1,70 @@
+package ra.edu.service.imp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ra.edu.entity.Booking;
+import ra.edu.entity.OutboxMessage;
+import ra.edu.enums.OutboxStatus;
+import ra.edu.repository.OutboxMessageRepository;
+import ra.edu.service.OutboxService;
+
+import java.time.LocalDateTime;
+
+// Chỉ ghi vào bảng outbox; bắt buộc chạy trong transaction của booking để thư và booking cùng commit hoặc cùng rollback
+@Service
+public class OutboxServiceImp implements OutboxService {
+    public static final String BOOKING_CREATED = "BOOKING_CREATED";
+    public static final String BOOKING_CANCELLED = "BOOKING_CANCELLED";
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBookingCreated(Booking booking) {
+        enqueue(BOOKING_CREATED, booking,
+                "Xác nhận đặt phòng #" + booking.getBookingId(),
+                "Xin chào " + booking.getUser().getFullName() + ",\n\n"
+                        + "Yêu cầu đặt phòng của bạn đã được ghi nhận.\n"
+                        + describe(booking)
+                        + "Trạng thái: " + booking.getStatus() + "\n");
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBookingCancelled(Booking booking) {
+        enqueue(BOOKING_CANCELLED, booking,
+                "Hủy đặt phòng #" + booking.getBookingId(),
+                "Xin chào " + booking.getUser().getFullName() + ",\n\n"
+                        + "Đặt phòng của bạn đã được hủy.\n"
+                        + describe(booking));
+    }
+
+    private void enqueue(String type, Booking booking, String subject, String body) {
+        String recipient = booking.getUser().getEmail();
+        if (recipient == null || recipient.isBlank()) return;
+        LocalDateTime now = LocalDateTime.now();
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .messageType(type)
+                .aggregateId(booking.getBookingId())
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    private String describe(Booking booking) {
+        String hotelName = booking.getRoom().getHotel() != null ? booking.getRoom().getHotel().getHotelName() : "";
+        return "Khách sạn: " + hotelName + "\n"
+                + "Phòng: " + booking.getRoom().getRoomType() + "\n"
+                + "Nhận phòng: " + booking.getCheckIn() + "\n"
+                + "Trả phòng: " + booking.getCheckOut() + "\n"
+                + "Tổng tiền: " + booking.getTotalPrice() + "\n";
+    }
+}
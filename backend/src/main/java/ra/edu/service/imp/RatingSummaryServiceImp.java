@@ -0,0 +1,47 @@
+package ra.edu.service.imp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ra.edu.entity.RoomRatingSummary;
+import ra.edu.repository.RoomRatingSummaryRepository;
+import ra.edu.service.RatingSummaryService;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class RatingSummaryServiceImp implements RatingSummaryService {
+    @Autowired
+    private RoomRatingSummaryRepository roomRatingSummaryRepository;
+
+    @Override
+    public Map<Integer, RoomRatingSummary> getSummaries(Collection<Integer> roomIds) {
+        if (roomIds == null || roomIds.isEmpty()) return Map.of();
+        return roomRatingSummaryRepository.findByRoomIdIn(roomIds).stream()
+                .collect(Collectors.toMap(RoomRatingSummary::getRoomId, Function.identity()));
+    }
+
+    // Phải được gọi trong cùng transaction với việc lưu review
+    @Override
+    @Transactional
+    public void addRating(Integer roomId, Integer rating) {
+        roomRatingSummaryRepository.addRating(roomId, rating);
+    }
+
+    // Đồng bộ lại bảng tổng hợp từ bảng reviews khi khởi động
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int removed = roomRatingSummaryRepository.deleteWithoutReviews();
+        int rows = roomRatingSummaryRepository.rebuildFromReviews();
+        log.info("Đã đồng bộ tổng hợp đánh giá ({} dòng, xóa {} dòng không còn review)", rows, removed);
+    }
+}
@@ -1,9 +1,14 @@
 package ra.edu.service.imp;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ra.edu.dto.request.ReviewRequest;
+import ra.edu.dto.response.CommentResponse;
+import ra.edu.dto.response.CursorData;
 import ra.edu.dto.response.ReviewResponse;
+import ra.edu.dto.response.ReviewThreadResponse;
 import ra.edu.entity.Review;
 import ra.edu.entity.Room;
 import ra.edu.entity.User;
@@ -11,21 +16,33 @@ import ra.edu.mapper.ReviewMapper;
 import ra.edu.repository.ReviewRepository;
 import ra.edu.repository.RoomRepository;
 import ra.edu.repository.UserRepository;
+import ra.edu.service.CommentService;
+import ra.edu.service.RatingSummaryService;
 import ra.edu.service.ReviewService;
+import ra.edu.util.ResponseUtil;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ReviewServiceImp implements ReviewService {
+    private static final int MAX_REPLIES_PER_REVIEW = 10;
+
     @Autowired
     private ReviewRepository reviewRepository;
     @Autowired
     private RoomRepository roomRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+    @Autowired
+    private CommentService commentService;
 
     @Override
+    @Transactional
     public ReviewResponse createReview(ReviewRequest request) {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -46,6 +63,7 @@ public class ReviewServiceImp implements ReviewService {
                 .build();
 
         review = reviewRepository.save(review);
+        ratingSummaryService.addRating(room.getRoomId(), review.getRating());
         return ReviewMapper.toResponse(review);
     }
 
@@ -56,4 +74,49 @@ public class ReviewServiceImp implements ReviewService {
                 .map(ReviewMapper::toResponse)
                 .toList();
     }
+
+    // Keyset theo (createdAt, reviewId) giảm dần, mỗi trang là một truy vấn projection nhỏ
+    @Override
+    public CursorData<ReviewResponse> getReviewsByRoomIdBefore(Integer roomId, String cursor, int size) {
+        ResponseUtil.checkPageSize(size);
+        return ResponseUtil.convertToCursorData(findFeed(roomId, cursor, size), size,
+                review -> ResponseUtil.encodeCursor(review.getCreatedAt(), review.getReviewId()));
+    }
+
+    // Số truy vấn cố định cho mỗi trang: một cho review, hai cho phản hồi (bỏ qua nếu không review nào có phản hồi)
+    @Override
+    public CursorData<ReviewThreadResponse> getReviewThreadsByRoomIdBefore(Integer roomId, String cursor, int size,
+                                                                           int replies) {
+        ResponseUtil.checkPageSize(size);
+        if (replies < 0 || replies > MAX_REPLIES_PER_REVIEW) {
+            throw new IllegalArgumentException("Số phản hồi mỗi đánh giá phải từ 0 đến " + MAX_REPLIES_PER_REVIEW);
+        }
+        CursorData<ReviewResponse> page = getReviewsByRoomIdBefore(roomId, cursor, size);
+        List<Integer> withReplies = page.getItems().stream()
+                .filter(review -> review.getReplyCount() != null && review.getReplyCount() > 0)
+                .map(ReviewResponse::getReviewId)
+                .toList();
+        Map<Integer, List<CommentResponse>> topReplies = commentService.getTopReplies(withReplies, replies);
+        List<ReviewThreadResponse> threads = page.getItems().stream()
+                .map(review -> new ReviewThreadResponse(review,
+                        topReplies.getOrDefault(review.getReviewId(), List.of())))
+                .toList();
+        return new CursorData<>(threads, page.getNextCursor(), page.isHasNext());
+    }
+
+    private List<ReviewResponse> findFeed(Integer roomId, String cursor, int size) {
+        if (cursor == null || cursor.isBlank()) {
+            return reviewRepository.findFeedByRoomId(roomId, Limit.of(size + 1));
+        }
+        String[] parts = ResponseUtil.decodeCursor(cursor, 2);
+        LocalDateTime createdAt;
+        Integer reviewId;
+        try {
+            createdAt = LocalDateTime.parse(parts[0]);
+            reviewId = Integer.valueOf(parts[1]);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor không hợp lệ");
+        }
+        return reviewRepository.findFeedByRoomIdBefore(roomId, createdAt, reviewId, Limit.of(size + 1));
+    }
 }
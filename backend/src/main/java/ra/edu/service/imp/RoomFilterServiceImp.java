@@ -0,0 +1,236 @@
+package ra.edu.service.imp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ra.edu.dto.projection.RoomRow;
+import ra.edu.enums.RoomSort;
+import ra.edu.event.CatalogReloadedEvent;
+import ra.edu.event.ReviewChangedEvent;
+import ra.edu.event.RoomChangedEvent;
+import ra.edu.repository.RoomReadRepository;
+import ra.edu.service.RoomFilterService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Chỉ mục lọc giá/sức chứa dạng mảng nguyên thủy song song (struct-of-arrays) sắp theo giá:
+// khoảng giá tìm bằng binary search, phần còn lại là quét tuần tự trên mảng liền mạch
+@Service
+@Slf4j
+public class RoomFilterServiceImp implements RoomFilterService {
+    private static final int NO_HOTEL = -1;
+    // Khóa theo phòng (chia sọc) cho refreshRoom: làm mới các phòng khác nhau không chờ nhau lúc đọc DB
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private RoomReadRepository roomReadRepository;
+
+    // Bất biến sau khi tạo; cập nhật thì thay cả snapshot (copy-on-write) nên đọc không cần khóa
+    private static final class Snapshot {
+        final int[] roomIds;
+        final double[] prices;
+        final int[] capacities;
+        final int[] hotelIds;
+        // NaN khi phòng chưa có đánh giá
+        final float[] ratings;
+
+        Snapshot(int size) {
+            roomIds = new int[size];
+            prices = new double[size];
+            capacities = new int[size];
+            hotelIds = new int[size];
+            ratings = new float[size];
+        }
+
+        int size() {
+            return roomIds.length;
+        }
+
+        int indexOf(int roomId) {
+            for (int i = 0; i < roomIds.length; i++) {
+                if (roomIds[i] == roomId) return i;
+            }
+            return -1;
+        }
+
+        // Vị trí đầu tiên có (price, roomId) >= khóa cần tìm
+        int lowerBound(double price, int roomId) {
+            int lo = 0;
+            int hi = roomIds.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (prices[mid] < price || (prices[mid] == price && roomIds[mid] < roomId)) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        // Vị trí đầu tiên có giá > price
+        int upperBound(double price) {
+            int lo = 0;
+            int hi = roomIds.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (prices[mid] <= price) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(0);
+
+    private final ReentrantLock[] roomLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public RoomFilterServiceImp() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Page<Integer> filter(Double minPrice, Double maxPrice, Integer guests, Integer hotelId,
+                                RoomSort sort, Pageable pageable) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("Giá tối thiểu không được lớn hơn giá tối đa");
+        }
+        Snapshot current = snapshot;
+        int from = minPrice != null ? current.lowerBound(minPrice, Integer.MIN_VALUE) : 0;
+        int to = maxPrice != null ? current.upperBound(maxPrice) : current.size();
+        int minCapacity = guests != null ? guests : 0;
+        int hotel = hotelId != null ? hotelId : NO_HOTEL;
+
+        int offset = (int) pageable.getOffset();
+        int size = pageable.getPageSize();
+        List<Integer> page = new ArrayList<>(size);
+        int total = 0;
+
+        if (sort == RoomSort.RATING_DESC) {
+            int[] matches = new int[Math.max(0, to - from)];
+            for (int i = from; i < to; i++) {
+                if (matches(current, i, minCapacity, hotel)) matches[total++] = i;
+            }
+            Integer[] ordered = new Integer[total];
+            for (int i = 0; i < total; i++) ordered[i] = matches[i];
+            // Chưa có đánh giá xếp cuối, cùng điểm thì rẻ hơn lên trước (mảng đã theo giá nên sort ổn định giữ thứ tự đó)
+            Arrays.sort(ordered, Comparator.comparingDouble(i -> Float.isNaN(current.ratings[i]) ? 1f : -current.ratings[i]));
+            for (int i = offset; i < Math.min(total, offset + size); i++) {
+                page.add(current.roomIds[ordered[i]]);
+            }
+        } else {
+            boolean ascending = sort != RoomSort.PRICE_DESC;
+            for (int k = 0; k < to - from; k++) {
+                int i = ascending ? from + k : to - 1 - k;
+                if (!matches(current, i, minCapacity, hotel)) continue;
+                if (total >= offset && page.size() < size) page.add(current.roomIds[i]);
+                total++;
+            }
+        }
+        return new PageImpl<>(page, pageable, total);
+    }
+
+    // Đọc dòng trong khóa của phòng: hai lần làm mới cùng phòng (RoomChanged + ReviewChanged) chạy lần lượt,
+    // lần đọc sau luôn thấy cả hai commit nên bản ghi cũ không thể được áp dụng sau cùng
+    @Override
+    public void refreshRoom(Integer roomId) {
+        ReentrantLock lock = roomLocks[Math.floorMod(roomId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            Optional<RoomRow> row = roomReadRepository.findRowByRoomId(roomId);
+            synchronized (this) {
+                Snapshot current = snapshot;
+                int existing = current.indexOf(roomId);
+                Snapshot without = existing >= 0 ? remove(current, existing) : current;
+                snapshot = row.map(r -> insert(without, r)).orElse(without);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    public void rebuild() {
+        List<RoomRow> rows = new ArrayList<>(roomReadRepository.findAllRows());
+        rows.sort(Comparator.comparingDouble((RoomRow row) -> priceOf(row)).thenComparingInt(RoomRow::getRoomId));
+        Snapshot built = new Snapshot(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            set(built, i, rows.get(i));
+        }
+        synchronized (this) {
+            snapshot = built;
+        }
+        log.info("Đã dựng chỉ mục lọc giá cho {} phòng", built.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        refreshRoom(event.getRoomId());
+    }
+
+    // Điểm trung bình thay đổi theo đánh giá mới
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.getRoomId() != null) {
+            refreshRoom(event.getRoomId());
+        }
+    }
+
+    private boolean matches(Snapshot current, int i, int minCapacity, int hotelId) {
+        return current.capacities[i] >= minCapacity && (hotelId == NO_HOTEL || current.hotelIds[i] == hotelId);
+    }
+
+    private Snapshot remove(Snapshot current, int index) {
+        Snapshot next = new Snapshot(current.size() - 1);
+        copy(current, 0, next, 0, index);
+        copy(current, index + 1, next, index, current.size() - index - 1);
+        return next;
+    }
+
+    private Snapshot insert(Snapshot current, RoomRow row) {
+        int index = current.lowerBound(priceOf(row), row.getRoomId());
+        Snapshot next = new Snapshot(current.size() + 1);
+        copy(current, 0, next, 0, index);
+        set(next, index, row);
+        copy(current, index, next, index + 1, current.size() - index);
+        return next;
+    }
+
+    private void copy(Snapshot source, int sourceFrom, Snapshot target, int targetFrom, int length) {
+        System.arraycopy(source.roomIds, sourceFrom, target.roomIds, targetFrom, length);
+        System.arraycopy(source.prices, sourceFrom, target.prices, targetFrom, length);
+        System.arraycopy(source.capacities, sourceFrom, target.capacities, targetFrom, length);
+        System.arraycopy(source.hotelIds, sourceFrom, target.hotelIds, targetFrom, length);
+        System.arraycopy(source.ratings, sourceFrom, target.ratings, targetFrom, length);
+    }
+
+    private void set(Snapshot target, int index, RoomRow row) {
+        target.roomIds[index] = row.getRoomId();
+        target.prices[index] = priceOf(row);
+        target.capacities[index] = row.getCapacity() != null ? row.getCapacity() : 0;
+        target.hotelIds[index] = row.getHotelId() != null ? row.getHotelId() : NO_HOTEL;
+        target.ratings[index] = row.getReviewCount() != null && row.getReviewCount() > 0
+                ? (float) (row.getRatingSum().doubleValue() / row.getReviewCount())
+                : Float.NaN;
+    }
+
+    private double priceOf(RoomRow row) {
+        return row.getPrice() != null ? row.getPrice() : 0d;
+    }
+}
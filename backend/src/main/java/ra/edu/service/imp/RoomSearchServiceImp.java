@@ -0,0 +1,255 @@
+package ra.edu.service.imp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ra.edu.dto.projection.RoomSearchDocument;
+import ra.edu.event.CatalogReloadedEvent;
+import ra.edu.event.HotelChangedEvent;
+import ra.edu.event.RoomChangedEvent;
+import ra.edu.repository.RoomRepository;
+import ra.edu.service.RoomSearchService;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Chỉ mục ngược trong bộ nhớ thay cho LIKE '%keyword%'
+@Service
+@Slf4j
+public class RoomSearchServiceImp implements RoomSearchService {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+
+    private static final float ROOM_TYPE_WEIGHT = 3f;
+    private static final float HOTEL_NAME_WEIGHT = 2f;
+    private static final float CITY_WEIGHT = 1.5f;
+    private static final float COUNTRY_WEIGHT = 1f;
+    private static final float DESCRIPTION_WEIGHT = 0.5f;
+    // Từ cuối có thể đang gõ dở nên được khớp cả tiền tố, với điểm thấp hơn khớp nguyên từ
+    private static final float PREFIX_FACTOR = 0.6f;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // token -> (roomId -> trọng số)
+    private TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    // roomId -> (token -> trọng số), dùng để gỡ bản cũ khi cập nhật
+    private Map<Integer, Map<String, Float>> documents = new HashMap<>();
+    // Phòng được index/gỡ trong lúc rebuild đang đọc DB; khác null khi có rebuild đang chạy (giữ write lock khi đọc/ghi)
+    private Set<Integer> changedDuringRebuild;
+    // Hai lượt rebuild không chạy chồng nhau, nếu không lượt sau sẽ xóa danh sách thay đổi của lượt trước
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Override
+    public List<Integer> search(String keyword) {
+        List<String> terms = tokenize(keyword);
+
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty()) {
+                List<Integer> all = new ArrayList<>(documents.keySet());
+                Collections.sort(all);
+                return all;
+            }
+
+            Map<Integer, Float> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                Map<Integer, Float> termScores = matchTerm(terms.get(i), i == terms.size() - 1);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((roomId, score) -> score + termScores.get(roomId));
+                }
+                if (scores.isEmpty()) return List.of();
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Float>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void reindexRoom(Integer roomId) {
+        roomRepository.findSearchDocumentByRoomId(roomId)
+                .ifPresentOrElse(this::index, () -> removeRoom(roomId));
+    }
+
+    @Override
+    public void reindexHotel(Integer hotelId) {
+        roomRepository.findSearchDocumentsByHotelId(hotelId).forEach(this::index);
+    }
+
+    @Override
+    public void removeRoom(Integer roomId) {
+        lock.writeLock().lock();
+        try {
+            unindex(roomId);
+            markChanged(roomId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Dựng chỉ mục mới ngoài lock để search vẫn chạy; phòng thay đổi trong lúc đó được ghi lại
+    // và đọc lại từ DB sau khi thay chỉ mục, để thay đổi áp vào chỉ mục cũ không bị mất.
+    // Không bọc trong một transaction: lần đọc lại phải thấy dữ liệu mới hơn snapshot lúc dựng
+    @Override
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            setChangedDuringRebuild(new HashSet<>());
+            TreeMap<String, Map<Integer, Float>> newPostings = new TreeMap<>();
+            Map<Integer, Map<String, Float>> newDocuments = new HashMap<>();
+            try {
+                for (RoomSearchDocument document : roomRepository.findSearchDocuments()) {
+                    Map<String, Float> weights = weigh(document);
+                    newDocuments.put(document.getRoomId(), weights);
+                    weights.forEach((token, weight) ->
+                            newPostings.computeIfAbsent(token, k -> new HashMap<>()).put(document.getRoomId(), weight));
+                }
+            } catch (RuntimeException e) {
+                // Giữ chỉ mục cũ, các thay đổi đã được áp vào nó như bình thường
+                setChangedDuringRebuild(null);
+                throw e;
+            }
+
+            Set<Integer> changed;
+            lock.writeLock().lock();
+            try {
+                postings = newPostings;
+                documents = newDocuments;
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            changed.forEach(this::reindexRoom);
+            log.info("Đã dựng chỉ mục tìm kiếm cho {} phòng, đọc lại {} phòng thay đổi trong lúc dựng",
+                    newDocuments.size(), changed.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void setChangedDuringRebuild(Set<Integer> changed) {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (event.isRemoved()) {
+            removeRoom(event.getRoomId());
+        } else {
+            reindexRoom(event.getRoomId());
+        }
+    }
+
+    // Đổi tên/thành phố khách sạn thì phải cập nhật lại mọi phòng của khách sạn đó
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (!event.isRemoved()) {
+            reindexHotel(event.getHotelId());
+        }
+    }
+
+    private void index(RoomSearchDocument document) {
+        Map<String, Float> weights = weigh(document);
+        lock.writeLock().lock();
+        try {
+            unindex(document.getRoomId());
+            documents.put(document.getRoomId(), weights);
+            weights.forEach((token, weight) ->
+                    postings.computeIfAbsent(token, k -> new HashMap<>()).put(document.getRoomId(), weight));
+            markChanged(document.getRoomId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(Integer roomId) {
+        Map<String, Float> weights = documents.remove(roomId);
+        if (weights == null) return;
+        for (String token : weights.keySet()) {
+            Map<Integer, Float> rooms = postings.get(token);
+            if (rooms == null) continue;
+            rooms.remove(roomId);
+            if (rooms.isEmpty()) postings.remove(token);
+        }
+    }
+
+    // Gọi khi đang giữ write lock
+    private void markChanged(Integer roomId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(roomId);
+        }
+    }
+
+    // Khớp nguyên từ lấy đủ điểm; chỉ từ cuối (prefix = true) mới khớp thêm tiền tố với điểm đã giảm
+    private Map<Integer, Float> matchTerm(String term, boolean prefix) {
+        Map<Integer, Float> result = new HashMap<>();
+        if (!prefix) {
+            Map<Integer, Float> exact = postings.get(term);
+            if (exact != null) result.putAll(exact);
+            return result;
+        }
+        for (Map.Entry<String, Map<Integer, Float>> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            float factor = entry.getKey().equals(term) ? 1f : PREFIX_FACTOR;
+            entry.getValue().forEach((roomId, weight) -> result.merge(roomId, weight * factor, Math::max));
+        }
+        return result;
+    }
+
+    private Map<String, Float> weigh(RoomSearchDocument document) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, document.getRoomType(), ROOM_TYPE_WEIGHT);
+        addField(weights, document.getHotelName(), HOTEL_NAME_WEIGHT);
+        addField(weights, document.getCity(), CITY_WEIGHT);
+        addField(weights, document.getCountry(), COUNTRY_WEIGHT);
+        addField(weights, document.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    // Bỏ dấu tiếng Việt: "Đà Nẵng" -> "da nang"
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        folded = COMBINING_MARKS.matcher(folded).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(NON_WORD.split(folded))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
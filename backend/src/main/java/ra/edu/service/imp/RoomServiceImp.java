@@ -1,68 +1,243 @@
 package ra.edu.service.imp;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ra.edu.cache.RoomResponseCache;
+import ra.edu.dto.projection.RoomImageUrl;
+import ra.edu.dto.projection.RoomRow;
+import ra.edu.dto.response.CursorData;
+import ra.edu.dto.response.PagedData;
 import ra.edu.dto.response.RoomResponse;
 import ra.edu.entity.Room;
+import ra.edu.entity.RoomRatingSummary;
+import ra.edu.enums.RoomSort;
 import ra.edu.mapper.RoomMapper;
-import ra.edu.repository.ReviewRepository;
+import ra.edu.repository.RoomImageRepository;
+import ra.edu.repository.RoomReadRepository;
 import ra.edu.repository.RoomRepository;
+import ra.edu.service.AvailabilityService;
+import ra.edu.service.RatingSummaryService;
+import ra.edu.service.RoomFilterService;
+import ra.edu.service.RoomSearchService;
 import ra.edu.service.RoomService;
+import ra.edu.util.ResponseUtil;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RoomServiceImp implements RoomService {
+    private static final Sort ROOM_ID_SORT = Sort.by("roomId");
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     @Autowired
     private RoomRepository roomRepository;
 
     @Autowired
-    private ReviewRepository reviewRepository;
+    private RoomReadRepository roomReadRepository;
+
+    @Autowired
+    private RoomImageRepository roomImageRepository;
+
+    @Autowired
+    private RoomResponseCache roomResponseCache;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private RoomSearchService roomSearchService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private RoomFilterService roomFilterService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     public List<RoomResponse> getRooms() {
-        List<Room> rooms = roomRepository.findAll();
-        return rooms.stream()
-                .map(room -> {
-                    Double avgRating = reviewRepository.findAverageRatingByRoomId(room.getRoomId());
-                    Integer reviewCount = reviewRepository.countByRoomId(room.getRoomId());
-                    return RoomMapper.toResponse(room, avgRating, reviewCount);
-                })
-                .toList();
+        return toResponses(roomReadRepository.findAllRows());
     }
 
     @Override
     public List<RoomResponse> getRoomsByHotelId(Integer hotelId) {
-        List<Room> rooms = roomRepository.findByHotel_HotelId(hotelId);
-        return rooms.stream()
-                .map(room -> {
-                    Double avgRating = reviewRepository.findAverageRatingByRoomId(room.getRoomId());
-                    Integer reviewCount = reviewRepository.countByRoomId(room.getRoomId());
-                    return RoomMapper.toResponse(room, avgRating, reviewCount);
-                })
-                .toList();
+        return roomResponseCache.getHotelRooms(hotelId,
+                id -> toResponses(roomReadRepository.findRowsByHotelId(id)));
     }
 
     @Override
     public RoomResponse getRoomById(Integer roomId) {
-        return roomRepository.findByRoomId(roomId)
-                .map(room -> {
-                    Double avgRating = reviewRepository.findAverageRatingByRoomId(room.getRoomId());
-                    Integer reviewCount = reviewRepository.countByRoomId(room.getRoomId());
-                    return RoomMapper.toResponse(room, avgRating, reviewCount);
-                })
-                .orElse(null);
+        return roomResponseCache.getRoom(roomId, id -> roomReadRepository.findRowByRoomId(id)
+                .map(row -> RoomMapper.toResponse(row, findImageUrls(List.of(row.getRoomId()))
+                        .getOrDefault(row.getRoomId(), List.of())))
+                .orElse(null));
     }
 
     @Override
     public List<RoomResponse> searchRooms(String keyword) {
-        List<Room> rooms = roomRepository.findByRoomTypeContainingIgnoreCase(keyword);
-        return rooms.stream()
-                .map(room -> {
-                    Double avgRating = reviewRepository.findAverageRatingByRoomId(room.getRoomId());
-                    Integer reviewCount = reviewRepository.countByRoomId(room.getRoomId());
-                    return RoomMapper.toResponse(room, avgRating, reviewCount);
-                })
+        return findByIdsInOrder(roomSearchService.search(keyword));
+    }
+
+    @Override
+    public PagedData<RoomResponse> getRoomsPage(int page, int size) {
+        return toPagedData(roomRepository.findRoomIds(ResponseUtil.toPageable(page, size, ROOM_ID_SORT)));
+    }
+
+    @Override
+    public PagedData<RoomResponse> getRoomsByHotelIdPage(Integer hotelId, int page, int size) {
+        return toPagedData(roomRepository.findRoomIdsByHotelId(
+                hotelId, ResponseUtil.toPageable(page, size, ROOM_ID_SORT)));
+    }
+
+    @Override
+    public PagedData<RoomResponse> searchRoomsPage(String keyword, int page, int size) {
+        Pageable pageable = ResponseUtil.toPageable(page, size, Sort.unsorted());
+        List<Integer> roomIds = roomSearchService.search(keyword);
+        int from = (int) Math.min(pageable.getOffset(), roomIds.size());
+        int to = Math.min(from + size, roomIds.size());
+        return toPagedData(new PageImpl<>(roomIds.subList(from, to), pageable, roomIds.size()));
+    }
+
+    @Override
+    public CursorData<RoomResponse> getRoomsAfter(Integer cursor, int size) {
+        ResponseUtil.checkPageSize(size);
+        return toCursorData(roomRepository.findRoomIdsAfter(startOf(cursor), Limit.of(size + 1)), size);
+    }
+
+    @Override
+    public CursorData<RoomResponse> getRoomsByHotelIdAfter(Integer hotelId, Integer cursor, int size) {
+        ResponseUtil.checkPageSize(size);
+        return toCursorData(roomRepository.findRoomIdsByHotelIdAfter(
+                hotelId, startOf(cursor), Limit.of(size + 1)), size);
+    }
+
+    // Kết quả tìm kiếm được xếp theo điểm nên cursor là vị trí trong danh sách xếp hạng, không phải roomId
+    @Override
+    public CursorData<RoomResponse> searchRoomsAfter(String keyword, Integer cursor, int size) {
+        ResponseUtil.checkPageSize(size);
+        List<Integer> roomIds = roomSearchService.search(keyword);
+        int from = Math.min(startOf(cursor), roomIds.size());
+        int to = Math.min(from + size, roomIds.size());
+        boolean hasNext = to < roomIds.size();
+        return new CursorData<>(
+                findByIdsInOrder(roomIds.subList(from, to)),
+                hasNext ? String.valueOf(to) : null,
+                hasNext);
+    }
+
+    // Lọc sức chứa trong DB, kiểm tra lịch trống trong bộ nhớ
+    @Override
+    public List<RoomResponse> getAvailableRooms(LocalDate checkIn, LocalDate checkOut, int guests, Integer hotelId) {
+        if (guests < 1) {
+            throw new IllegalArgumentException("Số khách phải lớn hơn 0");
+        }
+        List<Integer> candidates = hotelId != null
+                ? roomRepository.findRoomIdsByHotelIdAndMinCapacity(hotelId, guests)
+                : roomRepository.findRoomIdsByMinCapacity(guests);
+        return findByIdsInOrder(availabilityService.filterAvailable(candidates, checkIn, checkOut));
+    }
+
+    // Lọc + sắp xếp trên chỉ mục giá trong bộ nhớ, DB chỉ đọc các phòng của trang
+    @Override
+    public PagedData<RoomResponse> filterRooms(Double minPrice, Double maxPrice, Integer guests, Integer hotelId,
+                                               String sort, int page, int size) {
+        if (guests != null && guests < 1) {
+            throw new IllegalArgumentException("Số khách phải lớn hơn 0");
+        }
+        return toPagedData(roomFilterService.filter(minPrice, maxPrice, guests, hotelId, RoomSort.from(sort),
+                ResponseUtil.toPageable(page, size, Sort.unsorted())));
+    }
+
+    // Chỉ giữ trong bộ nhớ một lô phòng: nạp ảnh + điểm cho lô, ghi ra rồi detach trước khi đọc tiếp
+    @Override
+    @Transactional(readOnly = true)
+    public void exportRooms(Consumer<RoomResponse> consumer) {
+        List<Room> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Room> rooms = roomRepository.streamAll()) {
+            rooms.forEach(room -> {
+                chunk.add(room);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, consumer);
+                }
+            });
+        }
+        if (!chunk.isEmpty()) {
+            exportChunk(chunk, consumer);
+        }
+    }
+
+    private void exportChunk(List<Room> chunk, Consumer<RoomResponse> consumer) {
+        List<Integer> roomIds = chunk.stream().map(Room::getRoomId).toList();
+        Map<Integer, RoomRatingSummary> summaries = ratingSummaryService.getSummaries(roomIds);
+        Map<Integer, List<String>> imageUrls = findImageUrls(roomIds);
+        for (Room room : chunk) {
+            consumer.accept(RoomMapper.toResponse(
+                    room,
+                    imageUrls.getOrDefault(room.getRoomId(), List.of()),
+                    summaries.get(room.getRoomId())));
+        }
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    // Dòng phòng đã có sẵn khách sạn + điểm đánh giá, ảnh được gom bằng một truy vấn thứ hai
+    private List<RoomResponse> toResponses(List<RoomRow> rows) {
+        if (rows.isEmpty()) return List.of();
+        Map<Integer, List<String>> imageUrls = findImageUrls(rows.stream().map(RoomRow::getRoomId).toList());
+        return rows.stream()
+                .map(row -> RoomMapper.toResponse(row, imageUrls.getOrDefault(row.getRoomId(), List.of())))
+                .toList();
+    }
+
+    private Map<Integer, List<String>> findImageUrls(List<Integer> roomIds) {
+        return roomImageRepository.findImageUrlsByRoomIdIn(roomIds).stream()
+                .collect(Collectors.groupingBy(RoomImageUrl::getRoomId,
+                        Collectors.mapping(RoomImageUrl::getImageUrl, Collectors.toList())));
+    }
+
+    // Chỉ đọc các id của trang, giữ nguyên thứ tự của roomIds
+    private List<RoomResponse> findByIdsInOrder(List<Integer> roomIds) {
+        if (roomIds.isEmpty()) return List.of();
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (int i = 0; i < roomIds.size(); i++) {
+            positions.put(roomIds.get(i), i);
+        }
+        List<RoomRow> rows = roomReadRepository.findRowsByRoomIdIn(roomIds).stream()
+                .sorted(Comparator.comparing(row -> positions.get(row.getRoomId())))
                 .toList();
+        return toResponses(rows);
+    }
+
+    private PagedData<RoomResponse> toPagedData(Page<Integer> idPage) {
+        List<RoomResponse> rooms = findByIdsInOrder(idPage.getContent());
+        return ResponseUtil.convertToPagedData(
+                new PageImpl<>(rooms, idPage.getPageable(), idPage.getTotalElements()));
+    }
+
+    private CursorData<RoomResponse> toCursorData(List<Integer> roomIds, int size) {
+        CursorData<Integer> idData = ResponseUtil.convertToCursorData(roomIds, size, String::valueOf);
+        return new CursorData<>(findByIdsInOrder(idData.getItems()), idData.getNextCursor(), idData.isHasNext());
+    }
+
+    private int startOf(Integer cursor) {
+        return cursor != null && cursor > 0 ? cursor : 0;
     }
 }
@@ -0,0 +1,36 @@
+package ra.edu.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "image_store", havingValue = "cloudinary")
+public class CloudinaryImageStore implements ImageStore {
+    @Value("${cloudinary_url}")
+    private String cloudinaryUrl;
+
+    private Cloudinary cloudinary;
+
+    @PostConstruct
+    public void init() {
+        cloudinary = new Cloudinary(cloudinaryUrl);
+    }
+
+    // Upload từ file tạm trên đĩa, SDK đọc dần file chứ không nạp cả ảnh vào heap
+    @Override
+    public String store(Path file, String folder) throws IOException {
+        Map<?, ?> result = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
+                "folder", folder,
+                "resource_type", "image"
+        ));
+        return (String) result.get("secure_url");
+    }
+}
@@ -0,0 +1,10 @@
+package ra.edu.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Nơi lưu ảnh upload; chọn bằng thuộc tính image_store (cloudinary | local)
+public interface ImageStore {
+    // Trả về URL công khai của ảnh đã lưu
+    String store(Path file, String folder) throws IOException;
+}
@@ -0,0 +1,47 @@
+package ra.edu.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+// Lưu ảnh vào thư mục local, dùng khi chạy dev/test không có Cloudinary.
+// Thư mục được phục vụ tại PUBLIC_PATH (WebConfig), URL trả về ghép từ image_public_base_url
+// để payload không lộ đường dẫn trên server và app mobile tải được ảnh
+@Component
+@ConditionalOnProperty(name = "image_store", havingValue = "local", matchIfMissing = true)
+public class LocalImageStore implements ImageStore {
+    public static final String PUBLIC_PATH = "/uploads/";
+
+    @Value("${image_local_dir:uploads}")
+    private String baseDir;
+
+    @Value("${image_public_base_url:http://localhost:8080}")
+    private String publicBaseUrl;
+
+    @Override
+    public String store(Path file, String folder) throws IOException {
+        Path dir = getBaseDir().resolve(folder);
+        Files.createDirectories(dir);
+        String name = UUID.randomUUID() + extensionOf(file);
+        Files.copy(file, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        return publicBaseUrl.replaceAll("/+$", "") + PUBLIC_PATH + folder + "/" + name;
+    }
+
+    public Path getBaseDir() {
+        return Path.of(baseDir).toAbsolutePath().normalize();
+    }
+
+    // Giữ đuôi file tạm (.png, .jpg, ...) để resource handler trả đúng Content-Type
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String extension = dot >= 0 ? name.substring(dot) : "";
+        return extension.matches("\\.[a-z0-9]{1,5}") && !extension.equals(".tmp") ? extension : ".img";
+    }
+}
@@ -1,9 +1,20 @@
 package ra.edu.util;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ra.edu.dto.response.CursorData;
 import ra.edu.dto.response.PagedData;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
 public class ResponseUtil {
+    public static final int MAX_PAGE_SIZE = 100;
+
     public static <T> PagedData<T> convertToPagedData(Page<T> page) {
         return new PagedData<>(
                 page.getContent(),
@@ -15,4 +26,46 @@ public class ResponseUtil {
                 )
         );
     }
+
+    // items được lấy dư 1 phần tử để biết còn trang sau hay không
+    public static <T> CursorData<T> convertToCursorData(List<T> items, int size, Function<T, String> cursorOf) {
+        boolean hasNext = items.size() > size;
+        List<T> pageItems = hasNext ? items.subList(0, size) : items;
+        String nextCursor = hasNext ? cursorOf.apply(pageItems.get(pageItems.size() - 1)) : null;
+        return new CursorData<>(pageItems, nextCursor, hasNext);
+    }
+
+    // page bắt đầu từ 1 giống PagedData.Pagination.currentPage
+    public static Pageable toPageable(int page, int size, Sort sort) {
+        if (page < 1) {
+            throw new IllegalArgumentException("Số trang phải lớn hơn 0");
+        }
+        checkPageSize(size);
+        return PageRequest.of(page - 1, size, sort);
+    }
+
+    public static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Kích thước trang phải từ 1 đến " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Cursor nhiều thành phần (vd. createdAt + id) được mã hóa base64 để client coi như chuỗi mờ
+    public static String encodeCursor(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) raw.append('|');
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decodeCursor(String cursor, int partCount) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length == partCount) return parts;
+        } catch (IllegalArgumentException ignored) {
+        }
+        throw new IllegalArgumentException("Cursor không hợp lệ");
+    }
 }
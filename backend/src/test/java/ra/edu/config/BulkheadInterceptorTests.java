@@ -0,0 +1,86 @@
+package ra.edu.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Xuất NDJSON chạy qua một lần dispatch ASYNC: permit CATALOG phải được trả đúng một lần cho mỗi request.
+// Permit chỉ bị lấy khi request mở connection: đọc từ snapshot hay 304 vẫn chạy khi nhóm CATALOG đã hết permit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BulkheadInterceptorTests {
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BulkheadInterceptor bulkheadInterceptor;
+
+    @Value("${bulkhead_catalog_permits:6}")
+    private int catalogPermits;
+
+    @Test
+    void streamingExportDoesNotLeakCatalogPermits() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        for (int i = 0; i < catalogPermits + 2; i++) {
+            ResponseEntity<String> export = restTemplate.exchange(
+                    "/api/v1/rooms", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+            assertEquals(HttpStatus.OK, export.getStatusCode(), "Lần xuất thứ " + (i + 1));
+        }
+
+        ResponseEntity<String> rooms = restTemplate.getForEntity("/api/v1/rooms", String.class);
+        assertEquals(HttpStatus.OK, rooms.getStatusCode());
+
+        // Permit được trả sau khi response đã gửi xong nên chờ một chút
+        long deadline = System.currentTimeMillis() + 2000;
+        while (availableCatalogPermits() < catalogPermits && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(catalogPermits, availableCatalogPermits());
+    }
+
+    @Test
+    void cachedReadsAreNotRejectedWhileCatalogPermitsAreExhausted() throws Exception {
+        ResponseEntity<String> warm = restTemplate.getForEntity("/api/v1/rooms", String.class);
+        assertEquals(HttpStatus.OK, warm.getStatusCode());
+        String etag = warm.getHeaders().getETag();
+
+        Semaphore catalog = bulkheadInterceptor.semaphore(BulkheadInterceptor.EndpointGroup.CATALOG);
+        catalog.acquire(catalogPermits);
+        try {
+            for (int i = 0; i < catalogPermits * 3; i++) {
+                ResponseEntity<String> rooms = restTemplate.getForEntity("/api/v1/rooms", String.class);
+                assertEquals(HttpStatus.OK, rooms.getStatusCode(), "Lần đọc snapshot thứ " + (i + 1));
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(etag);
+            ResponseEntity<String> notModified = restTemplate.exchange(
+                    "/api/v1/rooms", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+            assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+
+            // Trang phân trang phải đọc DB nên vẫn bị bulkhead chặn
+            ResponseEntity<String> paged = restTemplate.getForEntity("/api/v1/rooms/paged", String.class);
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, paged.getStatusCode());
+        } finally {
+            catalog.release(catalogPermits);
+        }
+    }
+
+    private int availableCatalogPermits() {
+        return (int) meterRegistry.get("bulkhead.available").tag("group", "CATALOG").gauge().value();
+    }
+}
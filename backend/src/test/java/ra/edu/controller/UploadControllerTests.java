@@ -0,0 +1,233 @@
+package ra.edu.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ra.edu.entity.Hotel;
+import ra.edu.entity.Room;
+import ra.edu.entity.User;
+import ra.edu.enums.Gender;
+import ra.edu.repository.HotelRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.repository.UserRepository;
+import ra.edu.security.principal.CustomUserDetails;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Upload ảnh qua store local: nhận job 202, poll tới DONE, ảnh tải lại được qua HTTP, file tạm luôn bị xóa
+@SpringBootTest(properties = {
+        "image_store=local",
+        "image_public_base_url=http://img.test",
+        "upload_threads=1",
+        "upload_queue_capacity=1"
+})
+@AutoConfigureMockMvc
+class UploadControllerTests {
+    private static final String BASE_URL = "http://img.test";
+    private static final String TEMP_PREFIX = "image-upload-";
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3, 4};
+
+    @DynamicPropertySource
+    static void imageDir(DynamicPropertyRegistry registry) throws IOException {
+        Path dir = Files.createTempDirectory("upload-tests");
+        registry.add("image_local_dir", dir::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    @Qualifier("imageUploadExecutor")
+    private ThreadPoolExecutor uploadExecutor;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> hotelIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        hotelIds.forEach(hotelRepository::deleteById);
+        userIds.forEach(userRepository::deleteById);
+    }
+
+    @Test
+    void uploadsImageAndServesItOverHttp() throws Exception {
+        User owner = seedUser();
+        Integer roomId = seedRoom(owner);
+        Set<Path> tempBefore = tempFiles();
+
+        JsonNode job = data(mockMvc.perform(multipart("/api/v1/uploads/rooms/{roomId}/images", roomId)
+                        .file(new MockMultipartFile("file", "phong.png", "image/png", PNG))
+                        .with(user(principal(owner))))
+                .andExpect(status().isAccepted())
+                .andReturn());
+        String jobId = job.get("jobId").asText();
+
+        JsonNode done = awaitJob(owner, jobId);
+        assertEquals("DONE", done.get("status").asText(), done.toString());
+        String imageUrl = done.get("imageUrl").asText();
+        assertTrue(imageUrl.startsWith(BASE_URL + "/uploads/rooms/" + roomId + "/"), imageUrl);
+        assertTrue(imageUrl.endsWith(".png"), imageUrl);
+
+        mockMvc.perform(get(imageUrl.substring(BASE_URL.length())))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(result -> assertArrayEquals(PNG, result.getResponse().getContentAsByteArray()));
+        // Job báo DONE ngay trước khi xóa file tạm trong finally
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!tempFiles().equals(tempBefore) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(tempBefore, tempFiles(), "File tạm của job phải bị xóa");
+    }
+
+    @Test
+    void rejectsWith429WhenQueueIsFull() throws Exception {
+        User owner = seedUser();
+        Integer roomId = seedRoom(owner);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            // Luồng upload duy nhất bị giữ, hàng đợi (sức chứa 1) đã đầy
+            uploadExecutor.execute(blocker);
+            while (uploadExecutor.getActiveCount() == 0 || !uploadExecutor.getQueue().isEmpty()) {
+                Thread.sleep(10);
+            }
+            uploadExecutor.execute(blocker);
+            Set<Path> tempBefore = tempFiles();
+
+            mockMvc.perform(multipart("/api/v1/uploads/rooms/{roomId}/images", roomId)
+                            .file(new MockMultipartFile("file", "phong.png", "image/png", PNG))
+                            .with(user(principal(owner))))
+                    .andExpect(status().isTooManyRequests());
+            assertEquals(tempBefore, tempFiles(), "Bị từ chối thì file tạm phải bị xóa ngay");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void rejectsWith403ForNonOwner() throws Exception {
+        Integer roomId = seedRoom(seedUser());
+        User stranger = seedUser();
+
+        mockMvc.perform(multipart("/api/v1/uploads/rooms/{roomId}/images", roomId)
+                        .file(new MockMultipartFile("file", "phong.png", "image/png", PNG))
+                        .with(user(principal(stranger))))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode awaitJob(User owner, String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            JsonNode job = data(mockMvc.perform(get("/api/v1/uploads/{jobId}", jobId).with(user(principal(owner))))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            String status = job.get("status").asText();
+            if (status.equals("DONE") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("data");
+    }
+
+    private static Set<Path> tempFiles() {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith(TEMP_PREFIX))
+                    .collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CustomUserDetails principal(User user) {
+        return CustomUserDetails.builder()
+                .id(user.getUserId())
+                .username(user.getEmail())
+                .email(user.getEmail())
+                .status(true)
+                .authorities(List.of())
+                .build();
+    }
+
+    private User seedUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .fullName("Uploader " + suffix)
+                .email("uploader-" + suffix + "@test.local")
+                .phone("09" + String.format("%08d", Math.abs(suffix.hashCode()) % 100_000_000))
+                .password("x")
+                .gender(Gender.MALE)
+                .status(true)
+                .build());
+        userIds.add(user.getUserId());
+        return user;
+    }
+
+    private Integer seedRoom(User owner) {
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .hotelName("Upload hotel " + owner.getUserId())
+                .city("Huế")
+                .country("Việt Nam")
+                .owner(owner)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        hotelIds.add(hotel.getHotelId());
+        return roomRepository.save(Room.builder()
+                .hotel(hotel)
+                .roomType("Upload")
+                .price(90.0)
+                .capacity(2)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).getRoomId();
+    }
+}
@@ -0,0 +1,136 @@
+package ra.edu.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Address;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ra.edu.entity.OutboxMessage;
+import ra.edu.enums.OutboxStatus;
+import ra.edu.repository.OutboxMessageRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Gửi outbox qua SMTP chạy trong tiến trình (GreenMail)
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "outbox_poll_ms=3600000",
+        "outbox_batch_size=10"
+})
+class OutboxDispatcherTests {
+    private static final String DOMAIN = "@outbox.test";
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private final List<Long> messageIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        outboxMessageRepository.deleteAllById(messageIds);
+    }
+
+    @Test
+    void drainsPendingMessagesInBatches() throws Exception {
+        // Gửi hết thư tồn từ các test khác để đếm lô chính xác
+        outboxDispatcher.poll();
+        for (int i = 0; i < 25; i++) {
+            enqueue("guest" + i + DOMAIN);
+        }
+
+        List<Integer> batches = new ArrayList<>();
+        int claimed;
+        do {
+            claimed = outboxDispatcher.dispatchBatch();
+            batches.add(claimed);
+        } while (claimed > 0);
+        assertEquals(List.of(10, 10, 5, 0), batches);
+
+        long delivered = 0;
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            Address[] recipients = message.getAllRecipients();
+            if (Arrays.stream(recipients).anyMatch(address -> address.toString().endsWith(DOMAIN))) {
+                delivered++;
+            }
+        }
+        assertEquals(25, delivered);
+        outboxMessageRepository.findAllById(messageIds).forEach(message -> {
+            assertEquals(OutboxStatus.SENT, message.getStatus());
+            assertNotNull(message.getSentAt());
+        });
+    }
+
+    @Test
+    void backsOffWhenSmtpIsDown() {
+        greenMail.stop();
+        Long id = enqueue("retry" + DOMAIN);
+
+        outboxDispatcher.poll();
+
+        OutboxMessage message = outboxMessageRepository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void resendsMessagesWhoseLeaseExpired() {
+        outboxDispatcher.poll();
+        Long id = enqueue("stuck" + DOMAIN);
+        OutboxMessage stuck = outboxMessageRepository.findById(id).orElseThrow();
+        stuck.setStatus(OutboxStatus.IN_FLIGHT);
+        stuck.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        outboxMessageRepository.save(stuck);
+
+        assertEquals(1, outboxDispatcher.dispatchBatch());
+
+        OutboxMessage message = outboxMessageRepository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.SENT, message.getStatus());
+        assertNull(message.getLeaseExpiresAt());
+        assertTrue(Arrays.stream(greenMail.getReceivedMessages())
+                .anyMatch(received -> hasRecipient(received, "stuck" + DOMAIN)));
+    }
+
+    private static boolean hasRecipient(MimeMessage message, String recipient) {
+        try {
+            return Arrays.stream(message.getAllRecipients()).anyMatch(address -> address.toString().equals(recipient));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Long enqueue(String recipient) {
+        LocalDateTime now = LocalDateTime.now().minusSeconds(1);
+        OutboxMessage message = outboxMessageRepository.save(OutboxMessage.builder()
+                .messageType("TEST")
+                .recipient(recipient)
+                .subject("Kiểm tra outbox")
+                .body("Nội dung")
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        messageIds.add(message.getId());
+        return message.getId();
+    }
+}
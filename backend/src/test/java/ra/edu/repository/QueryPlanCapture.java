@@ -0,0 +1,59 @@
+package ra.edu.repository;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+// Gắn vào URL JDBC (queryInterceptors=...) để lấy câu SELECT thật (đã thay tham số) mà Hibernate gửi đi
+public class QueryPlanCapture implements QueryInterceptor {
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> statements = CAPTURED.get();
+        CAPTURED.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    @Override
+    public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            String statement = sql.get();
+            if (statement != null && statement.trim().regionMatches(true, 0, "select", 0, 6)) {
+                statements.add(statement.trim());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet, ServerSession serverSession) {
+        return null;
+    }
+}
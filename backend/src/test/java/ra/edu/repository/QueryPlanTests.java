@@ -0,0 +1,167 @@
+package ra.edu.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ra.edu.enums.BookingStatus;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Chạy từng truy vấn của repository trên schema riêng đã seed nhiều dòng, EXPLAIN câu SQL thật
+// và báo lỗi nếu có bảng lớn bị quét toàn bộ (type = ALL)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:mysql://localhost:3306/project_react_native_plan_test"
+                + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true"
+                + "&queryInterceptors=ra.edu.repository.QueryPlanCapture",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+    private static final int HOTELS = 500;
+    private static final int USERS = 5_000;
+    private static final int ROOMS = 20_000;
+    private static final int REVIEWS = 10_000;
+    private static final int BOOKINGS = 20_000;
+    private static final int COMMENTS = 10_000;
+    private static final long LARGE_TABLE_ROWS = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomReadRepository roomReadRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        batch("INSERT INTO hotels (hotel_name, city, country, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                HOTELS, i -> new Object[]{"Hotel " + i, "City " + i % 50, "Country " + i % 5,
+                        Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        batch("INSERT INTO users (full_name, email, phone, password, gender, status) VALUES (?, ?, ?, ?, ?, ?)",
+                USERS, i -> new Object[]{"User " + i, "user" + i + "@plan.test", String.format("09%08d", i),
+                        "x", "MALE", true});
+        // Phần lớn phòng nhỏ, chỉ 1% phòng chứa được 10 khách
+        batch("INSERT INTO rooms (hotel_id, room_type, price, capacity, description, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                ROOMS, i -> new Object[]{1 + i % HOTELS, "Type " + i % 20, 50.0 + i % 500,
+                        i % 100 == 0 ? 10 : 1 + i % 4, "Room " + i, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        batch("INSERT INTO room_images (room_id, image_url) VALUES (?, ?)",
+                ROOMS * 2, i -> new Object[]{1 + i % ROOMS, "https://img.test/" + i + ".jpg"});
+        batch("INSERT INTO reviews (room_id, user_id, rating, comment, created_at) VALUES (?, ?, ?, ?, ?)",
+                REVIEWS, i -> new Object[]{1 + i % 2_000, 1 + i % USERS, 1 + i % 5, "Review " + i,
+                        Timestamp.valueOf(now.minusMinutes(i))});
+        batch("INSERT INTO bookings (user_id, room_id, check_in, check_out, total_price, status, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                BOOKINGS, i -> new Object[]{1 + i % USERS, 1 + i % ROOMS,
+                        Date.valueOf(LocalDate.now().plusDays(i % 60)), Date.valueOf(LocalDate.now().plusDays(i % 60 + 2)),
+                        100.0, BookingStatus.CONFIRMED.name(), Timestamp.valueOf(now.minusMinutes(i))});
+        batch("INSERT INTO comments (review_id, user_id, comment, created_at) VALUES (?, ?, ?, ?)",
+                COMMENTS, i -> new Object[]{1 + i % 2_000, 1 + i % USERS, "Reply " + i,
+                        Timestamp.valueOf(now.minusMinutes(i))});
+        jdbcTemplate.execute("ANALYZE TABLE hotels, users, rooms, room_images, reviews, bookings, comments");
+    }
+
+    @Test
+    void repositoryQueriesDoNotScanLargeTables() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("RoomRepository.findByRoomId", () -> roomRepository.findByRoomId(1234));
+        queries.put("RoomRepository.findRoomIdsByHotelId",
+                () -> roomRepository.findRoomIdsByHotelId(7, PageRequest.of(1, 20, Sort.by("roomId"))));
+        queries.put("RoomRepository.findRoomIdsAfter", () -> roomRepository.findRoomIdsAfter(15_000, Limit.of(21)));
+        queries.put("RoomRepository.findRoomIdsByHotelIdAfter",
+                () -> roomRepository.findRoomIdsByHotelIdAfter(7, 100, Limit.of(21)));
+        queries.put("RoomRepository.findRoomIdsByMinCapacity", () -> roomRepository.findRoomIdsByMinCapacity(10));
+        queries.put("RoomRepository.findRoomIdsByHotelIdAndMinCapacity",
+                () -> roomRepository.findRoomIdsByHotelIdAndMinCapacity(7, 2));
+        queries.put("RoomRepository.findSearchDocumentByRoomId", () -> roomRepository.findSearchDocumentByRoomId(1234));
+        queries.put("RoomRepository.findSearchDocumentsByHotelId", () -> roomRepository.findSearchDocumentsByHotelId(7));
+        queries.put("RoomRepository.findRoomVersion", () -> roomRepository.findRoomVersion(1234));
+        queries.put("RoomReadRepository.findRowsByHotelId", () -> roomReadRepository.findRowsByHotelId(7));
+        queries.put("RoomReadRepository.findRowByRoomId", () -> roomReadRepository.findRowByRoomId(1234));
+        queries.put("RoomReadRepository.findRowsByRoomIdIn", () -> roomReadRepository.findRowsByRoomIdIn(List.of(1, 50, 999)));
+        queries.put("ReviewRepository.findByRoom_RoomId", () -> reviewRepository.findByRoom_RoomId(42));
+        queries.put("ReviewRepository.findByUser_UserId", () -> reviewRepository.findByUser_UserId(321));
+        queries.put("ReviewRepository.findByRoom_RoomIdOrderByCreatedAtDesc",
+                () -> reviewRepository.findByRoom_RoomIdOrderByCreatedAtDesc(42));
+        queries.put("ReviewRepository.existsByUser_UserIdAndRoom_RoomId",
+                () -> reviewRepository.existsByUser_UserIdAndRoom_RoomId(321, 321));
+        queries.put("ReviewRepository.findByUser_UserIdAndRoom_RoomId",
+                () -> reviewRepository.findByUser_UserIdAndRoom_RoomId(321, 321));
+        queries.put("ReviewRepository.findFeedByRoomId", () -> reviewRepository.findFeedByRoomId(42, Limit.of(21)));
+        queries.put("ReviewRepository.findFeedByRoomIdBefore",
+                () -> reviewRepository.findFeedByRoomIdBefore(42, now.minusDays(1), 5_000, Limit.of(21)));
+        queries.put("ReviewRepository.findRoomReviewsVersion", () -> reviewRepository.findRoomReviewsVersion(42));
+        queries.put("CommentRepository.findThreadByReviewId",
+                () -> commentRepository.findThreadByReviewId(42, Limit.of(21)));
+        queries.put("CommentRepository.findThreadByReviewIdAfter",
+                () -> commentRepository.findThreadByReviewIdAfter(42, now.minusDays(1), 5_000, Limit.of(21)));
+        queries.put("CommentRepository.findTopReplyIds",
+                () -> commentRepository.findTopReplyIds(List.of(1, 42, 999), 3));
+        queries.put("CommentRepository.findResponsesByCommentIdIn",
+                () -> commentRepository.findResponsesByCommentIdIn(List.of(1, 50, 999)));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("user321@plan.test"));
+        queries.put("UserRepository.findByPhone", () -> userRepository.findByPhone("0900000321"));
+        queries.put("BookingRepository.existsOverlapping", () -> bookingRepository.existsOverlapping(
+                1234, LocalDate.now().plusDays(3), LocalDate.now().plusDays(5), BookingStatus.ACTIVE));
+        queries.put("BookingRepository.findByUser_UserIdOrderByCreatedAtDesc",
+                () -> bookingRepository.findByUser_UserIdOrderByCreatedAtDesc(321));
+        queries.put("BookingRepository.findIntervalById", () -> bookingRepository.findIntervalById(1234));
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            QueryPlanCapture.start();
+            try {
+                query.run();
+            } finally {
+                List<String> statements = QueryPlanCapture.stop();
+                assertFalse(statements.isEmpty(), name + " không gửi câu SELECT nào");
+                for (String sql : statements) {
+                    for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                        long rows = row.get("rows") != null ? ((Number) row.get("rows")).longValue() : 0;
+                        if ("ALL".equals(row.get("type")) && rows >= LARGE_TABLE_ROWS) {
+                            failures.add(name + ": quét toàn bảng " + row.get("table") + " (~" + rows + " dòng)\n    " + sql);
+                        }
+                    }
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private void batch(String sql, int count, IntFunction<Object[]> rowOf) {
+        List<Object[]> rows = IntStream.range(0, count).mapToObj(rowOf).toList();
+        for (int from = 0; from < rows.size(); from += 1_000) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + 1_000, rows.size())));
+        }
+    }
+}
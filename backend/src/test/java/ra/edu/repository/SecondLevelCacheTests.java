@@ -0,0 +1,129 @@
+package ra.edu.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ra.edu.cache.HibernateSecondLevelCache;
+import ra.edu.dto.response.CacheStatsResponse;
+import ra.edu.entity.Hotel;
+import ra.edu.entity.Room;
+import ra.edu.entity.RoomImage;
+import ra.edu.entity.User;
+import ra.edu.enums.Gender;
+import ra.edu.metrics.RequestSqlStatistics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Gọi lặp RoomRepository.findByRoomId (kiểm tra chủ phòng khi upload ảnh): lần đầu đọc DB, các lần sau lấy
+// từ query cache + second-level cache, kể cả khi truy cập hotel, id chủ khách sạn và danh sách ảnh
+@SpringBootTest
+class SecondLevelCacheTests {
+    private static final int REPEATS = 5;
+
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private HibernateSecondLevelCache hibernateSecondLevelCache;
+
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> hotelIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        hotelIds.forEach(hotelRepository::deleteById);
+        userIds.forEach(userRepository::deleteById);
+    }
+
+    @Test
+    void repeatedFindByRoomIdStopsHittingJdbc() {
+        Integer ownerId = seedOwner();
+        Integer roomId = seedRoom(ownerId);
+        long roomHitsBefore = hitsOf("l2:ra.edu.entity.Room");
+
+        int firstStatements = statementsOf(roomId, ownerId);
+        assertTrue(firstStatements > 0, "Lần đầu phải đọc từ DB");
+
+        for (int i = 0; i < REPEATS; i++) {
+            assertEquals(0, statementsOf(roomId, ownerId), "Lần gọi thứ " + (i + 2) + " vẫn gửi SQL");
+        }
+        assertTrue(hitsOf("l2:ra.edu.entity.Room") >= roomHitsBefore + REPEATS);
+    }
+
+    // Số câu SQL Hibernate gửi đi cho một lần đọc phòng và các quan hệ mà RoomMapper/checkOwner dùng
+    private int statementsOf(Integer roomId, Integer ownerId) {
+        RequestSqlStatistics.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Room room = roomRepository.findByRoomId(roomId).orElseThrow();
+                assertEquals(2, room.getImages().size());
+                assertTrue(room.getHotel().getHotelName().startsWith("Cache hotel"));
+                assertEquals(ownerId, room.getHotel().getOwner().getUserId());
+            });
+            return RequestSqlStatistics.stop().getStatements();
+        } finally {
+            if (RequestSqlStatistics.isActive()) RequestSqlStatistics.stop();
+        }
+    }
+
+    private long hitsOf(String region) {
+        return hibernateSecondLevelCache.stats().stream()
+                .filter(stats -> stats.getName().equals(region))
+                .mapToLong(CacheStatsResponse::getHitCount)
+                .findFirst()
+                .orElse(0);
+    }
+
+    private Integer seedOwner() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = userRepository.save(User.builder()
+                .fullName("Owner " + suffix)
+                .email("owner-" + suffix + "@test.local")
+                .phone("09" + String.format("%08d", Math.abs(suffix.hashCode()) % 100_000_000))
+                .password("x")
+                .gender(Gender.MALE)
+                .status(true)
+                .build());
+        userIds.add(owner.getUserId());
+        return owner.getUserId();
+    }
+
+    private Integer seedRoom(Integer ownerId) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .hotelName("Cache hotel " + suffix)
+                .city("Đà Nẵng")
+                .country("Việt Nam")
+                .owner(userRepository.getReferenceById(ownerId))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        hotelIds.add(hotel.getHotelId());
+
+        Room room = Room.builder()
+                .hotel(hotel)
+                .roomType("Cache " + suffix)
+                .price(120.0)
+                .capacity(2)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        room.setImages(new ArrayList<>(List.of(
+                RoomImage.builder().room(room).imageUrl("https://img.test/" + suffix + "-1.jpg").build(),
+                RoomImage.builder().room(room).imageUrl("https://img.test/" + suffix + "-2.jpg").build())));
+        return roomRepository.save(room).getRoomId();
+    }
+}
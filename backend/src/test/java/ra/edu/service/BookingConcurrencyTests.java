@@ -0,0 +1,165 @@
+package ra.edu.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ra.edu.dto.projection.BookingInterval;
+import ra.edu.dto.request.BookingRequest;
+import ra.edu.entity.Hotel;
+import ra.edu.entity.Room;
+import ra.edu.entity.User;
+import ra.edu.enums.BookingStatus;
+import ra.edu.enums.Gender;
+import ra.edu.exception.ConflictException;
+import ra.edu.repository.BookingRepository;
+import ra.edu.repository.HotelRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Nhiều luồng cùng đặt vài phòng với khoảng ngày ngẫu nhiên chồng lấn nhau: không được có booking trùng lịch
+@SpringBootTest
+class BookingConcurrencyTests {
+    private static final Logger log = LoggerFactory.getLogger(BookingConcurrencyTests.class);
+    private static final int ROOMS = 4;
+    private static final int ATTEMPTS = 2000;
+    private static final int WINDOW_DAYS = 90;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> hotelIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        hotelIds.forEach(hotelRepository::deleteById);
+        userIds.forEach(userRepository::deleteById);
+    }
+
+    @Test
+    void neverDoubleBooksUnderConcurrentWriters() throws Exception {
+        for (int writers : new int[]{1, 8, 64}) {
+            List<Integer> roomIds = seedRooms(writers);
+            Integer userId = userIds.get(userIds.size() - 1);
+            LocalDate start = LocalDate.now().plusDays(30);
+
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            AtomicInteger remaining = new AtomicInteger(ATTEMPTS);
+            CountDownLatch ready = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(writers);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (remaining.getAndDecrement() > 0) {
+                        LocalDate checkIn = start.plusDays(random.nextInt(WINDOW_DAYS));
+                        BookingRequest request = new BookingRequest(
+                                roomIds.get(random.nextInt(roomIds.size())),
+                                checkIn,
+                                checkIn.plusDays(1 + random.nextInt(4)),
+                                1, 0, 0);
+                        try {
+                            bookingService.createBooking(userId, request);
+                            created.incrementAndGet();
+                        } catch (ConflictException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            executor.shutdown();
+
+            assertEquals(ATTEMPTS, created.get() + rejected.get());
+            assertEquals(0, countOverlaps(roomIds));
+            assertTrue(created.get() > 0);
+            log.info("writers={} created={} rejected={} throughput={} attempts/s",
+                    writers, created.get(), rejected.get(), Math.round(ATTEMPTS / seconds));
+        }
+    }
+
+    private int countOverlaps(List<Integer> roomIds) {
+        Map<Integer, List<BookingInterval>> byRoom = new HashMap<>();
+        for (BookingInterval interval : bookingRepository.findIntervals(BookingStatus.ACTIVE, LocalDate.of(2000, 1, 1))) {
+            if (roomIds.contains(interval.getRoomId())) {
+                byRoom.computeIfAbsent(interval.getRoomId(), id -> new ArrayList<>()).add(interval);
+            }
+        }
+
+        int overlaps = 0;
+        for (List<BookingInterval> intervals : byRoom.values()) {
+            intervals.sort(Comparator.comparing(BookingInterval::getCheckIn));
+            for (int i = 1; i < intervals.size(); i++) {
+                if (intervals.get(i).getCheckIn().isBefore(intervals.get(i - 1).getCheckOut())) {
+                    overlaps++;
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    private List<Integer> seedRooms(int writers) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .fullName("Stress " + writers)
+                .email("stress-" + suffix + "@test.local")
+                .phone("09" + String.format("%08d", Math.abs(suffix.hashCode()) % 100_000_000))
+                .password("x")
+                .gender(Gender.MALE)
+                .status(true)
+                .build());
+        userIds.add(user.getUserId());
+
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .hotelName("Stress hotel " + suffix)
+                .city("Hà Nội")
+                .country("Việt Nam")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        hotelIds.add(hotel.getHotelId());
+
+        List<Integer> roomIds = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = roomRepository.save(Room.builder()
+                    .hotel(hotel)
+                    .roomType("Stress " + i)
+                    .price(100.0)
+                    .capacity(2)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            roomIds.add(room.getRoomId());
+        }
+        return roomIds;
+    }
+}
@@ -0,0 +1,165 @@
+package ra.edu.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ra.edu.dto.request.CommentRequest;
+import ra.edu.dto.request.ReviewRequest;
+import ra.edu.dto.response.CommentResponse;
+import ra.edu.dto.response.CursorData;
+import ra.edu.dto.response.ReviewThreadResponse;
+import ra.edu.entity.Hotel;
+import ra.edu.entity.Room;
+import ra.edu.entity.User;
+import ra.edu.enums.Gender;
+import ra.edu.metrics.RequestSqlStatistics;
+import ra.edu.repository.HotelRepository;
+import ra.edu.repository.RoomRatingSummaryRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Trang luồng đánh giá: số câu SQL cố định, N phản hồi đầu theo thứ tự thời gian,
+// và reply_count bị lệch (cột mới thêm = 0) được đồng bộ lại từ bảng comments
+@SpringBootTest
+class ReviewThreadTests {
+    private static final int TOP_REPLIES = 3;
+
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private RoomRatingSummaryRepository roomRatingSummaryRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> hotelIds = new ArrayList<>();
+    private Integer roomId;
+
+    @AfterEach
+    void cleanUp() {
+        if (roomId != null) roomRatingSummaryRepository.deleteById(roomId);
+        hotelIds.forEach(hotelRepository::deleteById);
+        userIds.forEach(userRepository::deleteById);
+    }
+
+    @Test
+    void loadsThreadsWithFixedQueriesAndTopRepliesInOrder() {
+        roomId = seedRoom();
+        Integer busy = review(seedUser());
+        Integer quiet = review(seedUser());
+        Integer silent = review(seedUser());
+        Integer replier = seedUser();
+        List<Integer> busyReplies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            busyReplies.add(reply(replier, busy, "Phản hồi " + i));
+        }
+        Integer quietReply = reply(replier, quiet, "Cảm ơn");
+
+        RequestSqlStatistics.start();
+        CursorData<ReviewThreadResponse> page;
+        RequestSqlStatistics.Counters counters;
+        try {
+            page = reviewService.getReviewThreadsByRoomIdBefore(roomId, null, 10, TOP_REPLIES);
+        } finally {
+            counters = RequestSqlStatistics.stop();
+        }
+        assertEquals(3, counters.getStatements(), "Một câu cho trang review, hai câu cho phản hồi");
+
+        // Review mới nhất lên trước
+        List<ReviewThreadResponse> threads = page.getItems();
+        assertEquals(List.of(silent, quiet, busy),
+                threads.stream().map(thread -> thread.getReview().getReviewId()).toList());
+        assertTrue(threads.get(0).getReplies().isEmpty());
+        assertEquals(List.of(quietReply), idsOf(threads.get(1).getReplies()));
+        assertEquals(busyReplies.subList(0, TOP_REPLIES), idsOf(threads.get(2).getReplies()));
+        assertEquals(5, threads.get(2).getReview().getReplyCount());
+    }
+
+    @Test
+    void rebuildRestoresRepliesHiddenByStaleCounts() {
+        roomId = seedRoom();
+        Integer reviewId = review(seedUser());
+        Integer replyId = reply(seedUser(), reviewId, "Có từ trước khi thêm cột");
+        // Giống cột reply_count vừa được ddl-auto thêm với giá trị mặc định
+        jdbcTemplate.update("UPDATE reviews SET reply_count = 0 WHERE review_id = ?", reviewId);
+        assertTrue(threadOf(reviewId).getReplies().isEmpty());
+
+        commentService.rebuildReplyCounts();
+
+        ReviewThreadResponse thread = threadOf(reviewId);
+        assertEquals(1, thread.getReview().getReplyCount());
+        assertEquals(List.of(replyId), idsOf(thread.getReplies()));
+    }
+
+    private ReviewThreadResponse threadOf(Integer reviewId) {
+        return reviewService.getReviewThreadsByRoomIdBefore(roomId, null, 10, TOP_REPLIES).getItems().stream()
+                .filter(thread -> thread.getReview().getReviewId().equals(reviewId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<Integer> idsOf(List<CommentResponse> replies) {
+        return replies.stream().map(CommentResponse::getCommentId).toList();
+    }
+
+    private Integer review(Integer userId) {
+        return reviewService.createReview(new ReviewRequest(roomId, userId, 4, "Phòng sạch")).getReviewId();
+    }
+
+    private Integer reply(Integer userId, Integer reviewId, String text) {
+        return commentService.createComment(userId, reviewId, new CommentRequest(text)).getCommentId();
+    }
+
+    private Integer seedUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .fullName("Thread " + suffix)
+                .email("thread-" + suffix + "@test.local")
+                .phone("09" + String.format("%08d", Math.abs(suffix.hashCode()) % 100_000_000))
+                .password("x")
+                .gender(Gender.FEMALE)
+                .status(true)
+                .build());
+        userIds.add(user.getUserId());
+        return user.getUserId();
+    }
+
+    private Integer seedRoom() {
+        User owner = userRepository.findById(seedUser()).orElseThrow();
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .hotelName("Thread hotel " + owner.getUserId())
+                .city("Nha Trang")
+                .country("Việt Nam")
+                .owner(owner)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        hotelIds.add(hotel.getHotelId());
+        return roomRepository.save(Room.builder()
+                .hotel(hotel)
+                .roomType("Thread")
+                .price(75.0)
+                .capacity(2)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).getRoomId();
+    }
+}
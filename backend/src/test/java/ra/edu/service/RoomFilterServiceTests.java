@@ -0,0 +1,162 @@
+package ra.edu.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import ra.edu.entity.Hotel;
+import ra.edu.entity.Room;
+import ra.edu.entity.User;
+import ra.edu.enums.Gender;
+import ra.edu.enums.RoomSort;
+import ra.edu.repository.HotelRepository;
+import ra.edu.repository.RoomRatingSummaryRepository;
+import ra.edu.repository.RoomRepository;
+import ra.edu.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Chỉ mục lọc trong bộ nhớ: khoảng giá, số khách, khách sạn, thứ tự sắp xếp và thêm/xóa phòng.
+// Mọi truy vấn đều lọc theo khách sạn vừa tạo để không lẫn dữ liệu có sẵn trong DB
+@SpringBootTest
+class RoomFilterServiceTests {
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private RoomFilterService roomFilterService;
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+    @Autowired
+    private RoomRatingSummaryRepository roomRatingSummaryRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Hotel hotel;
+    private final List<Integer> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void seedHotel() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        owner = userRepository.save(User.builder()
+                .fullName("Filter " + suffix)
+                .email("filter-" + suffix + "@test.local")
+                .phone("09" + String.format("%08d", Math.abs(suffix.hashCode()) % 100_000_000))
+                .password("x")
+                .gender(Gender.MALE)
+                .status(true)
+                .build());
+        hotel = hotelRepository.save(Hotel.builder()
+                .hotelName("Filter hotel " + suffix)
+                .city("Hội An")
+                .country("Việt Nam")
+                .owner(owner)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        roomRatingSummaryRepository.deleteAllById(roomIds);
+        hotelRepository.deleteById(hotel.getHotelId());
+        userRepository.deleteById(owner.getUserId());
+        roomIds.forEach(roomFilterService::refreshRoom);
+    }
+
+    @Test
+    void filtersByPriceRangeInBothDirections() {
+        seedRoom(50.0, 2);
+        Integer r100 = seedRoom(100.0, 2);
+        Integer r150 = seedRoom(150.0, 2);
+        seedRoom(200.0, 2);
+
+        Page<Integer> ascending = filter(100.0, 150.0, null, RoomSort.PRICE_ASC);
+        assertEquals(List.of(r100, r150), ascending.getContent());
+        assertEquals(2, ascending.getTotalElements());
+
+        assertEquals(List.of(r150, r100), filter(100.0, 150.0, null, RoomSort.PRICE_DESC).getContent());
+        assertEquals(4, filter(null, null, null, RoomSort.PRICE_ASC).getTotalElements());
+    }
+
+    @Test
+    void filtersByGuestsAndHotel() {
+        Integer small = seedRoom(80.0, 1);
+        Integer family = seedRoom(120.0, 4);
+        Integer suite = seedRoom(300.0, 6);
+
+        assertEquals(List.of(family, suite), filter(null, null, 3, RoomSort.PRICE_ASC).getContent());
+        assertEquals(List.of(small, family, suite), filter(null, null, 1, RoomSort.PRICE_ASC).getContent());
+        assertTrue(filter(null, null, 7, RoomSort.PRICE_ASC).isEmpty());
+    }
+
+    @Test
+    void sortsByRatingWithUnratedLast() {
+        Integer cheapGood = seedRoom(90.0, 2);
+        Integer pricyGood = seedRoom(180.0, 2);
+        Integer best = seedRoom(250.0, 2);
+        Integer unrated = seedRoom(60.0, 2);
+        rate(cheapGood, 4);
+        rate(pricyGood, 4);
+        rate(best, 5);
+
+        // Cùng điểm 4 thì phòng rẻ hơn lên trước
+        assertEquals(List.of(best, cheapGood, pricyGood, unrated),
+                filter(null, null, null, RoomSort.RATING_DESC).getContent());
+    }
+
+    @Test
+    void refreshInsertsAndRemovesRooms() {
+        Integer room = seedRoom(110.0, 2);
+        assertEquals(List.of(room), filter(null, null, null, RoomSort.PRICE_ASC).getContent());
+
+        roomRepository.deleteById(room);
+        roomFilterService.refreshRoom(room);
+        assertTrue(filter(null, null, null, RoomSort.PRICE_ASC).isEmpty());
+
+        Integer moved = seedRoom(70.0, 2);
+        Room changed = roomRepository.findById(moved).orElseThrow();
+        changed.setPrice(400.0);
+        roomRepository.save(changed);
+        roomFilterService.refreshRoom(moved);
+        assertTrue(filter(null, 300.0, null, RoomSort.PRICE_ASC).isEmpty());
+        assertFalse(filter(300.0, null, null, RoomSort.PRICE_ASC).isEmpty());
+    }
+
+    private Page<Integer> filter(Double minPrice, Double maxPrice, Integer guests, RoomSort sort) {
+        return roomFilterService.filter(minPrice, maxPrice, guests, hotel.getHotelId(), sort, FIRST_PAGE);
+    }
+
+    private void rate(Integer roomId, int rating) {
+        ratingSummaryService.addRating(roomId, rating);
+        roomFilterService.refreshRoom(roomId);
+    }
+
+    private Integer seedRoom(double price, int capacity) {
+        Integer roomId = roomRepository.save(Room.builder()
+                .hotel(hotel)
+                .roomType("Filter " + price)
+                .price(price)
+                .capacity(capacity)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).getRoomId();
+        roomIds.add(roomId);
+        roomFilterService.refreshRoom(roomId);
+        return roomId;
+    }
+}